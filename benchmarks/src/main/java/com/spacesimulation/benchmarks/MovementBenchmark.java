@@ -0,0 +1,68 @@
+package com.spacesimulation.benchmarks;
+
+import com.spacesimulation.display.ViewManager;
+import com.spacesimulation.domain.EntityKind;
+import com.spacesimulation.factories.MovableImplFactory;
+import com.spacesimulation.utils.Movable;
+import com.spacesimulation.utils.Point3D;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures Movable.move() on its own.  Run with -prof gc: gc.alloc.rate.norm
+ * should be 0 B/op, since moving only updates coordinates and the Point3D
+ * snapshots are built when someone asks for them.
+ * @author Steven Muschler
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MovementBenchmark
+{
+    @Param({"false", "true"})
+    public boolean packed;
+
+    private Movable spaceCraft;
+    private Movable weapon;
+
+    @Setup
+    public void setUp() throws Exception
+    {
+        ViewManager.setupHeadless(600, 600, 600);
+        ViewManager.getInstance();
+        MovableImplFactory.setPackedStorage(packed);
+        spaceCraft = MovableImplFactory.createMovable(EntityKind.FIGHTER_SHIP, 5.0, 0.0);
+        // Far enough away that the weapon never arrives and detonates.
+        weapon = MovableImplFactory.createMovable(EntityKind.RAIL_GUN_BOLT, new Point3D(0, 0, 0), new Point3D(1e15, 1e15, 1e15), 1.0, 0.0);
+        MovableImplFactory.setPackedStorage(false);
+    }
+
+    @Benchmark
+    public double moveSpaceCraft() throws Exception
+    {
+        spaceCraft.move(1);
+        if (spaceCraft.atDestination())
+            spaceCraft.setDestination();
+        return spaceCraft.getAngle();
+    }
+
+    @Benchmark
+    public double moveWeapon() throws Exception
+    {
+        weapon.move(1);
+        return weapon.getAngle();
+    }
+}
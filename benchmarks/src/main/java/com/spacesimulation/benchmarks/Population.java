@@ -0,0 +1,107 @@
+package com.spacesimulation.benchmarks;
+
+import com.spacesimulation.display.ViewManager;
+import com.spacesimulation.domain.EntityManager;
+import com.spacesimulation.domain.Scenario;
+import com.spacesimulation.domain.SpaceEntity;
+import com.spacesimulation.factories.DebrisCloudFactory;
+import com.spacesimulation.factories.GuidedMissileFactory;
+import com.spacesimulation.factories.RailGunBoltFactory;
+import com.spacesimulation.utils.Point3D;
+import com.spacesimulation.utils.SimulationRandom;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fills a headless EntityManager with a mix of every kind of SpaceEntity.
+ * Space grows with the population so that the density, and with it the number
+ * of SpaceEntities a radar sweep sees, matches 1000 SpaceEntities in the
+ * 600 x 600 x 600 space the Driver uses.
+ * @author Steven Muschler
+ */
+public class Population
+{
+    private static final String[] SIDES = {"CYAN", "MAGENTA"};
+
+    /**
+     * The handles of the FighterShips and SpacePorts, for handle lookups and missile targets.
+     */
+    private final List<Integer> shipHandles = new ArrayList<Integer>();
+    private final List<Integer> portHandles = new ArrayList<Integer>();
+
+    /**
+     * Builds a population of about size SpaceEntities: 10% CargoShips, 10%
+     * FighterShips, 5% SpacePorts, 15% GuidedMissiles, 20% RailGunBolts and
+     * the rest DebrisClouds.
+     * @param size The number of SpaceEntities.
+     * @param seed The simulation seed.
+     */
+    public Population(int size, long seed) throws Exception
+    {
+        int side = (int) Math.round(600.0 * Math.cbrt(size / 1000.0));
+        ViewManager.setupHeadless(side, side, side);
+        ViewManager.getInstance();
+
+        EntityManager em = EntityManager.getInstance();
+        em.reset();
+        em.setSeed(seed);
+        em.ensureCapacity(size);
+
+        int perSide = Math.max(1, size / 20);
+        int ports = Math.max(1, size / 40);
+        Scenario scenario = new Scenario();
+        for (String s : SIDES)
+            scenario.addSide(s, perSide, 0, 5.0, 1000.0, perSide, 100, 5.0, 1000.0, ports, 0.025, 2500.0);
+        em.spawn(scenario);
+
+        List<SpaceEntity> ships = new ArrayList<SpaceEntity>();
+        for (SpaceEntity sp : em.getEntities())
+        {
+            if (sp.isPort())
+                portHandles.add(sp.getHandle());
+            else if (sp.getEntityType().equals("Fighter Ship"))
+            {
+                shipHandles.add(sp.getHandle());
+                ships.add(sp);
+            }
+        }
+
+        SimulationRandom random = new SimulationRandom(seed);
+        int remaining = size - em.getEntities().size();
+        int missiles = size * 15 / 100;
+        int bolts = size / 5;
+        for (int i = 0; i < remaining; i++)
+        {
+            String color = SIDES[i % SIDES.length];
+            Point3D loc = em.createRandomPoint();
+            if (i < missiles)
+            {
+                SpaceEntity target = ships.get((int) (random.nextDouble() * ships.size()));
+                em.addEntity(GuidedMissileFactory.build(color, loc, target.getLocation(), target.getHandle(),
+                                                        5.5, 0.0, 1.0, 25.0, 1200.0, 250));
+            }
+            else if (i < missiles + bolts)
+            {
+                em.addEntity(RailGunBoltFactory.build(color, 30.0, 0.0, 1.0, 10.0, 200.0, loc, em.createRandomPoint()));
+            }
+            else
+            {
+                em.addEntity(DebrisCloudFactory.build(1, 200, "GRAY", loc, true));
+            }
+        }
+
+        // The first tick stores the new SpaceEntities, the second puts them in the spatial index.
+        em.tick();
+        em.tick();
+    }
+
+    public List<Integer> getShipHandles()
+    {
+        return shipHandles;
+    }
+
+    public List<Integer> getPortHandles()
+    {
+        return portHandles;
+    }
+}
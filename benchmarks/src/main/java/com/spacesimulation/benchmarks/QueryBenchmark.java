@@ -0,0 +1,104 @@
+package com.spacesimulation.benchmarks;
+
+import com.spacesimulation.domain.EntityManager;
+import com.spacesimulation.utils.Faction;
+import com.spacesimulation.utils.Point3D;
+import com.spacesimulation.utils.SimulationRandom;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the EntityManager queries against a fixed population.  Nothing
+ * ticks while a query is measured, so every invocation sees the same space.
+ * @author Steven Muschler
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QueryBenchmark
+{
+    private static final int NUM_PROBES = 1024;
+
+    @Param({"1000", "10000", "100000"})
+    public int size;
+
+    private EntityManager em;
+    private Point3D[] probes;
+    private int[] handles;
+    private Faction cyan;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception
+    {
+        Population population = new Population(size, 42L);
+        em = EntityManager.getInstance();
+        cyan = Faction.of("CYAN");
+
+        SimulationRandom random = new SimulationRandom(7L);
+        probes = new Point3D[NUM_PROBES];
+        for (int i = 0; i < NUM_PROBES; i++)
+            probes[i] = new Point3D(random.nextDouble() * em.getXSize(),
+                                    random.nextDouble() * em.getYSize(),
+                                    random.nextDouble() * em.getZSize());
+
+        List<Integer> shipHandles = population.getShipHandles();
+        handles = new int[NUM_PROBES];
+        for (int i = 0; i < NUM_PROBES; i++)
+            handles[i] = shipHandles.get((int) (random.nextDouble() * shipHandles.size()));
+    }
+
+    private int nextProbe()
+    {
+        next = (next + 1) & (NUM_PROBES - 1);
+        return next;
+    }
+
+    @Benchmark
+    public Object performRadarSweep()
+    {
+        return em.performRadarSweep(probes[nextProbe()], cyan);
+    }
+
+    @Benchmark
+    public Object getNearestSpacePort()
+    {
+        return em.getNearestSpacePort(probes[nextProbe()]);
+    }
+
+    @Benchmark
+    public Object getNearestFriendlySpacePort()
+    {
+        return em.getNearestSpacePort(probes[nextProbe()], cyan);
+    }
+
+    @Benchmark
+    public Object getLocationByHandle()
+    {
+        return em.getLocationByHandle(handles[nextProbe()]);
+    }
+
+    /**
+     * A detonation with no damage, so the population is left as it was.
+     */
+    @Benchmark
+    public void processDetonation()
+    {
+        em.processDetonation(handles[nextProbe()], 25.0, 0.0);
+    }
+}
@@ -0,0 +1,86 @@
+package com.spacesimulation.benchmarks;
+
+import com.spacesimulation.display.ViewManager;
+import com.spacesimulation.domain.EntityManager;
+import com.spacesimulation.domain.Scenario;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures starting a scenario of size ships and ports, split evenly between
+ * two sides, one side at a time through EntityManager.initialize and all at
+ * once through EntityManager.spawn.  Space is emptied before every invocation.
+ * @author Steven Muschler
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SpawnBenchmark
+{
+    private static final String[] SIDES = {"CYAN", "MAGENTA"};
+
+    @Param({"1000", "100000"})
+    public int size;
+
+    @Param({"1", "4"})
+    public int threads;
+
+    private EntityManager em;
+    private Scenario scenario;
+    private int perSide;
+    private int ports;
+
+    @Setup(Level.Trial)
+    public void setUpTrial() throws Exception
+    {
+        int side = (int) Math.round(600.0 * Math.cbrt(size / 1000.0));
+        ViewManager.setupHeadless(side, side, side);
+        ViewManager.getInstance();
+        em = EntityManager.getInstance();
+        em.setUpdateThreads(threads);
+
+        // 40% CargoShips, 40% FighterShips and 20% SpacePorts.
+        perSide = Math.max(1, size / 5);
+        ports = Math.max(1, size / 10);
+        scenario = new Scenario();
+        for (String s : SIDES)
+            scenario.addSide(s, perSide, 0, 5.0, 1000.0, perSide, 100, 5.0, 1000.0, ports, 0.025, 2500.0);
+    }
+
+    @Setup(Level.Invocation)
+    public void setUp()
+    {
+        em.reset();
+    }
+
+    @Benchmark
+    public int initialize()
+    {
+        for (String s : SIDES)
+            em.initialize(s, perSide, 0, 5.0, ports, 100, 0.025, perSide, 100, 5.0);
+        // initialize only queues the SpaceEntities; the first tick stores them.
+        em.tick();
+        return em.getEntities().size();
+    }
+
+    @Benchmark
+    public int spawn()
+    {
+        em.spawn(scenario);
+        return em.getEntities().size();
+    }
+}
@@ -0,0 +1,58 @@
+package com.spacesimulation.benchmarks;
+
+import com.spacesimulation.domain.EntityManager;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures one full tick of a headless EntityManager.  The population is
+ * rebuilt from the same seed before every iteration so each iteration starts
+ * from the same space and runs the same ticks, with movement state in each
+ * SpaceEntity or packed into MovementStores.
+ * @author Steven Muschler
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TickBenchmark
+{
+    @Param({"1000", "10000", "100000"})
+    public int size;
+
+    @Param({"1"})
+    public int threads;
+
+    @Param({"objects", "packed"})
+    public String movement;
+
+    private EntityManager em;
+
+    @Setup(Level.Iteration)
+    public void setUp() throws Exception
+    {
+        EntityManager.getInstance().setPackedMovement(movement.equals("packed"));
+        new Population(size, 42L);
+        em = EntityManager.getInstance();
+        em.setUpdateThreads(threads);
+    }
+
+    @Benchmark
+    public void tick()
+    {
+        em.tick();
+    }
+}
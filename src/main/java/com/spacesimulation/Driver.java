@@ -1,25 +1,105 @@
 package com.spacesimulation;
 
 
+import com.spacesimulation.display.FrameCapture;
 import com.spacesimulation.display.ViewManager;
+import com.spacesimulation.display.Viewport;
 import com.spacesimulation.domain.EntityManager;
+import java.io.File;
+import java.io.IOException;
 
 public class Driver 
 {
 
+    /**
+     * Options:
+     *   --headless TICKS  run TICKS ticks as fast as possible without a display and print the tick rate
+     *   --seed SEED       seed the simulation so the run repeats
+     *   --threads N       run the update phase of each tick on N threads
+     *   --tick-rate HZ    run HZ ticks a second when there is a display (50 by default)
+     *   --movement packed|objects   keep movement state in packed arrays, or in each SpaceEntity (the default)
+     *   --capture DIR     with --headless, write a picture of every tick to DIR
+     *   --capture-format png|rgb    write PNG files (the default) or raw RGB bytes
+     *   --capture-policy block|drop wait for the encoders (the default) or skip frames while they are behind
+     *   --capture-threads N         encode on N threads (2 by default)
+     *   --capture-queue N           let N frames wait for an encoder (16 by default)
+     */
     public static void main(String[] args) {
 
+       long headlessTicks = -1;
+       String captureDir = null;
+       FrameCapture.Format captureFormat = FrameCapture.Format.PNG;
+       FrameCapture.Policy capturePolicy = FrameCapture.Policy.BLOCK;
+       int captureThreads = 2;
+       int captureQueue = 16;
+       for (int i = 0; i + 1 < args.length; i += 2) {
+           if (args[i].equals("--headless")) {
+               headlessTicks = Long.parseLong(args[i + 1]);
+           } else if (args[i].equals("--seed")) {
+               EntityManager.getInstance().setSeed(Long.parseLong(args[i + 1]));
+           } else if (args[i].equals("--threads")) {
+               EntityManager.getInstance().setUpdateThreads(Integer.parseInt(args[i + 1]));
+           } else if (args[i].equals("--tick-rate")) {
+               EntityManager.getInstance().setTickRate(Integer.parseInt(args[i + 1]));
+           } else if (args[i].equals("--movement")) {
+               EntityManager.getInstance().setPackedMovement(args[i + 1].equals("packed"));
+           } else if (args[i].equals("--capture")) {
+               captureDir = args[i + 1];
+           } else if (args[i].equals("--capture-format")) {
+               captureFormat = args[i + 1].equals("rgb") ? FrameCapture.Format.RAW_RGB : FrameCapture.Format.PNG;
+           } else if (args[i].equals("--capture-policy")) {
+               capturePolicy = args[i + 1].equals("drop") ? FrameCapture.Policy.DROP : FrameCapture.Policy.BLOCK;
+           } else if (args[i].equals("--capture-threads")) {
+               captureThreads = Integer.parseInt(args[i + 1]);
+           } else if (args[i].equals("--capture-queue")) {
+               captureQueue = Integer.parseInt(args[i + 1]);
+           } else {
+               System.out.println("Unknown option " + args[i]);
+           }
+       }
+
+       FrameCapture capture = null;
+       if (captureDir != null) {
+           if (headlessTicks < 0) {
+               System.out.println("--capture needs --headless TICKS");
+               return;
+           }
+           try {
+               capture = new FrameCapture(new File(captureDir), captureFormat, capturePolicy, captureQueue,
+                       captureThreads, new Viewport(0, 0, 1.0, 600, 600), true);
+           } catch (IOException ex) {
+               System.out.println(ex);
+               return;
+           }
+       }
+
         // Set the View Frame size (the size of "space")
-       ViewManager.setup(600, 600, 600);
+       if (capture != null) {
+           ViewManager.setupCapture(600, 600, 600, capture);
+       } else if (headlessTicks >= 0) {
+           ViewManager.setupHeadless(600, 600, 600);
+       } else {
+           ViewManager.setup(600, 600, 600);
+       }
 
        // Start the View Manager
        ViewManager.getInstance();
 
-       // Start the Entity Manager
-       EntityManager.getInstance().start();
-
+       // Populate space before the update loop starts drawing random numbers
        EntityManager.getInstance().initialize("CYAN", 3, 100, 5.0, 3, 100, 0.025, 3, 100, 5.0);
        EntityManager.getInstance().initialize("MAGENTA", 3, 100, 5.0, 3, 100, 0.025, 3, 100, 5.0);
        //EntityManager.getInstance().initialize("GREEN", 3, 100, 5.0, 3, 100, 0.025, 3, 100, 5.0);
+
+       if (headlessTicks >= 0) {
+           EntityManager.getInstance().runHeadless(headlessTicks);
+           if (capture != null) {
+               capture.close();
+               System.out.println(capture.report());
+           }
+           System.exit(0);
+       }
+
+       // Start the Entity Manager
+       EntityManager.getInstance().start();
     }
 }
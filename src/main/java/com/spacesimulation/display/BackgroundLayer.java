@@ -0,0 +1,102 @@
+package com.spacesimulation.display;
+
+import java.awt.Color;
+import java.awt.Graphics;
+import java.awt.GraphicsConfiguration;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+
+/**
+ * The parts of a frame that only change with the viewport or the grid toggle:
+ * the background, the grid, the axis legend and the corner coordinates.  They
+ * are drawn once into an image, and each frame starts by copying it.
+ */
+public class BackgroundLayer {
+
+    /**
+     * The closest grid lines are drawn, in pixels.
+     */
+    private static final int MIN_GRID_GAP = 20;
+
+    private BufferedImage image;
+    private Viewport drawnView;
+    private boolean drawnGrid;
+
+    /**
+     * Copies the layer onto g, redrawing it first if the viewport or grid toggle changed.
+     * @param gc The configuration of the screen the layer is shown on, so the
+     * copy is fast, or null when drawing off screen.
+     */
+    public void paint(Graphics g, Viewport view, boolean grid, GraphicsConfiguration gc) {
+        if (image == null || grid != drawnGrid || !view.equals(drawnView)) {
+            redraw(view, grid, gc);
+        }
+        g.drawImage(image, 0, 0, null);
+    }
+
+    private void redraw(Viewport view, boolean grid, GraphicsConfiguration gc) {
+        int width = Math.max(1, view.getWidth());
+        int height = Math.max(1, view.getHeight());
+        if (image == null || image.getWidth() != width || image.getHeight() != height) {
+            if (gc != null) {
+                image = gc.createCompatibleImage(width, height, Transparency.OPAQUE);
+            } else {
+                image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            }
+        }
+
+        Graphics g = image.getGraphics();
+        g.setColor(Color.black);
+        g.fillRect(0, 0, width, height);
+        if (grid) {
+            drawGrid(g, view);
+        }
+        drawLegend(g, width);
+        drawCoords(g, view);
+        g.dispose();
+
+        drawnView = view;
+        drawnGrid = grid;
+    }
+
+    private void drawLegend(Graphics g, int width) {
+        g.setColor(Color.white);
+        g.drawString("X", width - 15, 15);
+        g.drawLine(width - 75, 10, width - 20, 10);
+        g.drawString("Y", width - 15, 30);
+        g.drawLine(width - 11, 33, width - 11, 83);
+        g.drawString("Z", width - 25, 27);
+        g.drawLine(width - 30, 30, width - 65, 65);
+    }
+
+    private void drawCoords(Graphics g, Viewport view) {
+        g.setColor(Color.white);
+        g.drawString("(" + (int) view.getLeft() + ", " + (int) view.getTop() + ")", 5, 12);
+        String corner = "(" + (int) view.getRight() + ", " + (int) view.getBottom() + ")";
+        g.drawString(corner, view.getWidth() - 5 - g.getFontMetrics().stringWidth(corner), view.getHeight() - 5);
+    }
+
+    /**
+     * Draws a line every 50 units of space, or every 100, 200 and so on
+     * when zoomed out far enough that the lines would crowd together.
+     */
+    private void drawGrid(Graphics g, Viewport view) {
+        g.setColor(Color.darkGray);
+        double spacing = 50.0;
+        while (spacing * view.getScale() < MIN_GRID_GAP) {
+            spacing *= 2;
+        }
+
+        // Horiz
+        for (double y = Math.ceil(view.getTop() / spacing) * spacing; y <= view.getBottom(); y += spacing) {
+            int sy = (int) view.toScreenY(y);
+            g.drawLine(0, sy, view.getWidth(), sy);
+        }
+
+        // Vert
+        for (double x = Math.ceil(view.getLeft() / spacing) * spacing; x <= view.getRight(); x += spacing) {
+            int sx = (int) view.toScreenX(x);
+            g.drawLine(sx, 0, sx, view.getHeight());
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.spacesimulation.display;
+
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * A ViewFrame for recording without a window.  It keeps the items like
+ * ViewFrameImpl does and hands a frame to its FrameCapture at the end of every
+ * tick, which is when the EntityManager updates the info line.
+ */
+public class CaptureViewFrame extends HeadlessViewFrame {
+
+    private final HashMap<Integer, ConsoleItem> points = new HashMap<Integer, ConsoleItem>();
+    private final FrameCapture capture;
+
+    public CaptureViewFrame(FrameCapture capture) {
+        this.capture = capture;
+    }
+
+    public void publish(List<ConsoleItem> changed, List<Integer> removed, long tick, long tickNanos) {
+        for (int i = 0; i < changed.size(); i++) {
+            putItem(changed.get(i));
+        }
+        for (int i = 0; i < removed.size(); i++) {
+            points.remove(removed.get(i));
+        }
+    }
+
+    private void putItem(ConsoleItem ci) {
+        if (ci.isDestroyed()) {
+            points.remove(ci.getHandle());
+        } else {
+            points.put(ci.getHandle(), ci);
+        }
+    }
+
+    public int numItems() {
+        return points.size();
+    }
+
+    public void clearAllItems() {
+        points.clear();
+    }
+
+    public void updateInfo(String s) {
+        super.updateInfo(s);
+        capture.capture(points.values(), s);
+    }
+}
@@ -10,14 +10,53 @@ public interface ConsoleItem {
 
     Color getColor();
 
-    String getId();
+    int getHandle();
 
     Point3D getLocation();
 
     PolygonPlus getPolygon(double zSize);
 
+    /**
+     * @return How far the outline returned by getPolygon can reach from the item's location.
+     */
+    double getRadius(double zSize);
+
+    /**
+     * @return True for small, numerous items that may be drawn merged with their
+     * neighbours when the view is zoomed out, otherwise false.
+     */
+    boolean isAggregatable();
+
     void setLocation(Point3D p);
 
+    /**
+     * Remembers where the item this one replaces was, so the view can draw the
+     * item moving from there.  Only called before the item is published.
+     * @param previous The item this one replaces, or null if it is new.
+     * @param tick The tick this item comes from.
+     */
+    void setPrevious(ConsoleItem previous, long tick);
+
+    /**
+     * @return The tick the item comes from, or -1 if it does not come from a tick.
+     */
+    long getTick();
+
+    /**
+     * @param t How far from the previous location to the current one, from 0 to 1.
+     */
+    double getX(double t);
+
+    /**
+     * @param t How far from the previous location to the current one, from 0 to 1.
+     */
+    double getY(double t);
+
+    /**
+     * @param t How far from the previous location and angle to the current ones, from 0 to 1.
+     */
+    PolygonPlus getPolygon(double zSize, double t);
+
     String getInfoText();
 
     boolean isDestroyed();
@@ -0,0 +1,242 @@
+package com.spacesimulation.display;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.imageio.ImageIO;
+
+/**
+ * Records frames to numbered image files without a window.  The simulation
+ * thread only copies the references to a frame's items into a FrameSnapshot
+ * from a fixed pool; encoder threads draw each FrameSnapshot off screen with a
+ * SceneRenderer, hand it back to the pool and write the picture out.  When
+ * every FrameSnapshot is waiting to be drawn, the Policy decides whether the
+ * simulation waits for one or skips the frame, so the tick loop never waits
+ * on the disk unless asked to.
+ */
+public class FrameCapture {
+
+    public enum Format {
+        /** One PNG file per frame. */
+        PNG,
+        /** One file per frame of width * height red, green, blue bytes, row by row. */
+        RAW_RGB
+    }
+
+    public enum Policy {
+        /** The simulation waits for the encoders, so no frame is lost. */
+        BLOCK,
+        /** Frames are skipped while the encoders are behind. */
+        DROP
+    }
+
+    private static final Logger LOGGER = Logger.getLogger(FrameCapture.class.getName());
+
+    private final File directory;
+    private final Format format;
+    private final Policy policy;
+    private final Viewport view;
+    private final boolean grid;
+
+    /**
+     * free holds the FrameSnapshots that can be filled, pending the ones waiting
+     * to be drawn.  pending never holds more than the pool, so only free blocks.
+     */
+    private final BlockingQueue<FrameSnapshot> free;
+    private final BlockingQueue<Job> pending = new LinkedBlockingQueue<Job>();
+    private final Thread[] encoders;
+
+    private long framesCaptured;
+    private final AtomicLong framesDropped = new AtomicLong();
+    private final AtomicLong framesWritten = new AtomicLong();
+    private final AtomicLong framesFailed = new AtomicLong();
+    private final long startTime = System.nanoTime();
+
+    /**
+     * A frame waiting to be drawn.  A Job with no frame tells an encoder to stop.
+     */
+    private static class Job {
+
+        private final FrameSnapshot frame;
+        private final String info;
+
+        Job(FrameSnapshot frame, String info) {
+            this.frame = frame;
+            this.info = info;
+        }
+    }
+
+    /**
+     * Starts the encoder threads.
+     * @param directory Where the frame files are written.  It is created if it does not exist.
+     * @param format How the frames are written.
+     * @param policy What to do with a frame while the encoders are behind.
+     * @param queueSize How many frames can wait for an encoder.
+     * @param threads How many encoder threads to run.
+     * @param view The part of space recorded and the size of the pictures.
+     * @param grid Whether the grid is drawn.
+     * @throws IOException if directory cannot be created.
+     */
+    public FrameCapture(File directory, Format format, Policy policy, int queueSize, int threads, Viewport view,
+            boolean grid) throws IOException {
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Cannot create capture directory " + directory);
+        }
+        this.directory = directory;
+        this.format = format;
+        this.policy = policy;
+        this.view = view;
+        this.grid = grid;
+
+        threads = Math.max(1, threads);
+        // Every encoder holds at most one FrameSnapshot while it draws.
+        int poolSize = Math.max(1, queueSize) + threads;
+        free = new ArrayBlockingQueue<FrameSnapshot>(poolSize);
+        for (int i = 0; i < poolSize; i++) {
+            free.add(new FrameSnapshot());
+        }
+
+        encoders = new Thread[threads];
+        for (int i = 0; i < threads; i++) {
+            encoders[i] = new Thread(new Encoder(), "FrameCapture-" + i);
+            encoders[i].setDaemon(true);
+            encoders[i].start();
+        }
+    }
+
+    /**
+     * Queues a frame.  Called by the simulation thread; the items must not be
+     * changed afterwards, which published ConsoleItems never are.
+     * @param items The items of the frame.
+     * @param info The info line drawn under the frame.
+     */
+    public void capture(Collection<ConsoleItem> items, String info) {
+        FrameSnapshot frame;
+        if (policy == Policy.BLOCK) {
+            try {
+                frame = free.take();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        } else {
+            frame = free.poll();
+            if (frame == null) {
+                framesDropped.incrementAndGet();
+                return;
+            }
+        }
+        // The frame number names the file; a tick of -1 draws every item where it is.
+        frame.fill(items, framesCaptured++, -1, 0, 0);
+        pending.add(new Job(frame, info));
+    }
+
+    /**
+     * Waits for the queued frames to be written and stops the encoder threads.
+     */
+    public void close() {
+        for (int i = 0; i < encoders.length; i++) {
+            pending.add(new Job(null, null));
+        }
+        for (int i = 0; i < encoders.length; i++) {
+            try {
+                encoders[i].join();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return The number of frames written, skipped and failed, and the write rate.
+     */
+    public String report() {
+        double seconds = (System.nanoTime() - startTime) / 1e9;
+        return String.format("%d frames written to %s in %.3f s (%.1f frames/s), %d dropped, %d failed",
+                framesWritten.get(), directory, seconds, framesWritten.get() / seconds,
+                framesDropped.get(), framesFailed.get());
+    }
+
+    public long getFramesWritten() {
+        return framesWritten.get();
+    }
+
+    public long getFramesDropped() {
+        return framesDropped.get();
+    }
+
+    private class Encoder implements Runnable {
+
+        private final SceneRenderer renderer = new SceneRenderer();
+        private final BufferedImage image = new BufferedImage(Math.max(1, view.getWidth()),
+                Math.max(1, view.getHeight()), BufferedImage.TYPE_INT_RGB);
+        private byte[] rgb;
+
+        public void run() {
+            while (true) {
+                Job job;
+                try {
+                    job = pending.take();
+                } catch (InterruptedException ex) {
+                    return;
+                }
+                if (job.frame == null) {
+                    return;
+                }
+
+                long number = job.frame.getSequence();
+                Graphics2D g = image.createGraphics();
+                renderer.render(g, job.frame, view, grid, job.info, null, 0);
+                g.dispose();
+                // The picture is drawn, so the FrameSnapshot can be filled again while it is written.
+                free.add(job.frame);
+
+                try {
+                    write(number);
+                    framesWritten.incrementAndGet();
+                } catch (IOException ex) {
+                    framesFailed.incrementAndGet();
+                    LOGGER.log(Level.SEVERE, "Could not write frame " + number, ex);
+                }
+            }
+        }
+
+        private void write(long number) throws IOException {
+            if (format == Format.PNG) {
+                File file = new File(directory, String.format("frame-%08d.png", number));
+                if (!ImageIO.write(image, "png", file)) {
+                    throw new IOException("No PNG writer available");
+                }
+                return;
+            }
+
+            int[] pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+            if (rgb == null) {
+                rgb = new byte[pixels.length * 3];
+            }
+            for (int i = 0, j = 0; i < pixels.length; i++) {
+                int p = pixels[i];
+                rgb[j++] = (byte) (p >> 16);
+                rgb[j++] = (byte) (p >> 8);
+                rgb[j++] = (byte) p;
+            }
+            FileOutputStream out = new FileOutputStream(new File(directory, String.format("frame-%08d.rgb", number)));
+            try {
+                out.write(rgb);
+            } finally {
+                out.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.spacesimulation.display;
+
+import java.util.Collection;
+
+/**
+ * Everything the view draws for one published tick.  A FrameSnapshot is filled
+ * by the simulation thread and not changed again until the render thread has
+ * handed it back, so the render thread can read it without locking or copying.
+ * The ConsoleItems themselves are never changed once published.
+ */
+public class FrameSnapshot {
+
+    private ConsoleItem[] items = new ConsoleItem[0];
+    private int size;
+    private long sequence;
+    private long tick = -1;
+    private long publishedNanos;
+    private long tickNanos;
+
+    /**
+     * Replaces the contents of the FrameSnapshot, reusing its storage.
+     * @param source The ConsoleItems of the frame.
+     * @param sequence The number of the frame; frames are numbered in the order they are published.
+     * @param tick The latest tick the ConsoleItems come from, or -1 if none do.
+     * @param publishedNanos The System.nanoTime() when that tick was published.
+     * @param tickNanos How long the simulation takes per tick.
+     */
+    public void fill(Collection<ConsoleItem> source, long sequence, long tick, long publishedNanos, long tickNanos) {
+        int n = source.size();
+        if (items.length < n) {
+            items = new ConsoleItem[Math.max(n, items.length * 2)];
+        }
+        int i = 0;
+        for (ConsoleItem ci : source) {
+            items[i++] = ci;
+        }
+        // Drop the references left over from a larger frame so they can be collected.
+        for (int j = n; j < size; j++) {
+            items[j] = null;
+        }
+        size = n;
+        this.sequence = sequence;
+        this.tick = tick;
+        this.publishedNanos = publishedNanos;
+        this.tickNanos = tickNanos;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public ConsoleItem get(int index) {
+        return items[index];
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public long getTick() {
+        return tick;
+    }
+
+    /**
+     * The items of the latest tick are drawn moving from their previous
+     * locations over one tick from when the frame was published, which keeps
+     * the picture one tick behind the simulation but never ahead of it.
+     * @param ci An item of the frame.
+     * @param now The current System.nanoTime().
+     * @return How far to draw an item between its previous and current location.
+     */
+    public double progress(ConsoleItem ci, long now) {
+        if (ci.getTick() != tick || tickNanos <= 0) {
+            return 1.0;
+        }
+        return Math.max(0.0, Math.min(1.0, (double) (now - publishedNanos) / tickNanos));
+    }
+}
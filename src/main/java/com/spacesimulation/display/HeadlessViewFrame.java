@@ -0,0 +1,68 @@
+package com.spacesimulation.display;
+
+import java.util.List;
+
+/**
+ * A ViewFrame for runs without a display.  It never touches AWT or Swing and
+ * discards the ConsoleItems it is given; it only keeps the run state and the
+ * latest info line.
+ */
+public class HeadlessViewFrame implements ViewFrame {
+
+    private volatile boolean paused;
+    private volatile boolean stopped;
+    private volatile String info = "";
+
+    public int getXSize() {
+        return ViewManager.getXSize();
+    }
+
+    public int getYSize() {
+        return ViewManager.getYSize();
+    }
+
+    public int getZSize() {
+        return ViewManager.getZSize();
+    }
+
+    public void stop() {
+        stopped = true;
+    }
+
+    public void pause() {
+        paused = true;
+    }
+
+    public void resume() {
+        paused = false;
+    }
+
+    public boolean isPaused() {
+        return paused;
+    }
+
+    public boolean isStopped() {
+        return stopped;
+    }
+
+    public void publish(List<ConsoleItem> changed, List<Integer> removed, long tick, long tickNanos) {
+    }
+
+    public int numItems() {
+        return 0;
+    }
+
+    public void clearAllItems() {
+    }
+
+    public void updateInfo(String s) {
+        info = s;
+    }
+
+    public String getInfo() {
+        return info;
+    }
+
+    public void toggleGrid() {
+    }
+}
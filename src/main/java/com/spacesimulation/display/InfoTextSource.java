@@ -0,0 +1,13 @@
+package com.spacesimulation.display;
+
+/**
+ * Something that can describe itself for the view.  The text is built when it
+ * is read, so nothing is formatted for items nobody looks at.
+ */
+public interface InfoTextSource {
+
+    /**
+     * @return String summary of the current information.
+     */
+    String getInfoText();
+}
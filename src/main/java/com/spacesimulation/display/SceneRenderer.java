@@ -0,0 +1,147 @@
+package com.spacesimulation.display;
+
+import java.awt.Color;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.geom.AffineTransform;
+
+/**
+ * Draws frames: the BackgroundLayer, the items of a FrameSnapshot and the
+ * info line.  The live view and FrameCapture both draw through one, so a
+ * recording looks like the window.  A SceneRenderer keeps drawing state
+ * between frames and belongs to one thread.
+ */
+public class SceneRenderer {
+
+    private final BlobGrid blobs = new BlobGrid();
+    private final BackgroundLayer background = new BackgroundLayer();
+
+    /**
+     * Draws a whole frame.
+     * @param gc The configuration of the screen drawn on, or null when drawing off screen.
+     * @param now The System.nanoTime() to draw the items at.
+     */
+    public void render(Graphics2D g, FrameSnapshot frame, Viewport view, boolean grid, String info,
+            GraphicsConfiguration gc, long now) {
+        background.paint(g, view, grid, gc);
+        drawItems(g, frame, view, now);
+        drawInfo(g, view, info);
+    }
+
+    /**
+     * Draws the items of a frame.  Items outside the view are skipped before
+     * any outline is built.  An item smaller than a pixel is plotted as a
+     * single pixel, and when zoomed out the aggregatable items are merged into
+     * one blob per screen cell, so the cost of a frame follows what is on screen.
+     * @param now The System.nanoTime() to draw the items at.
+     */
+    public void drawItems(Graphics2D g, FrameSnapshot frame, Viewport view, long now) {
+        AffineTransform screen = g.getTransform();
+        AffineTransform world = new AffineTransform(screen);
+        world.concatenate(view.getTransform());
+        boolean inWorld = false;
+
+        double scale = view.getScale();
+        boolean aggregate = scale < 1.0;
+        double zSize = ViewManager.getZSize();
+        if (aggregate) {
+            blobs.reset(view.getWidth(), view.getHeight());
+        }
+
+        for (int i = 0; i < frame.size(); i++) {
+            ConsoleItem ci = frame.get(i);
+            double t = frame.progress(ci, now);
+            double x = ci.getX(t);
+            double y = ci.getY(t);
+            double radius = ci.getRadius(zSize);
+            if (!view.isVisible(x, y, radius)) {
+                continue;
+            }
+
+            Color c = ci.isDamaged() ? ci.getColor().darker() : ci.getColor();
+            if (aggregate && ci.isAggregatable()) {
+                blobs.add(view.toScreenX(x), view.toScreenY(y), c);
+            } else if (2 * radius * scale < 1.0) {
+                if (inWorld) {
+                    g.setTransform(screen);
+                    inWorld = false;
+                }
+                g.setColor(c);
+                g.fillRect((int) view.toScreenX(x), (int) view.toScreenY(y), 1, 1);
+            } else {
+                if (!inWorld) {
+                    g.setTransform(world);
+                    inWorld = true;
+                }
+                g.setColor(c);
+                g.fillPolygon(ci.getPolygon(zSize, t));
+            }
+        }
+
+        g.setTransform(screen);
+        if (aggregate) {
+            blobs.draw(g);
+        }
+    }
+
+    public void drawInfo(Graphics g, Viewport view, String info) {
+        g.setColor(Color.white);
+        g.drawString(info, 5, view.getHeight() - 5);
+    }
+    /**
+     * Counts the aggregatable items that fall in each CELL by CELL pixel cell of
+     * the canvas, and draws each occupied cell as one blob that grows with its
+     * count, in the color of the last item added to it.
+     */
+    private static class BlobGrid {
+
+        private static final int CELL = 6;
+        private int columns;
+        private int rows;
+        private int[] counts = new int[0];
+        private Color[] colors = new Color[0];
+        private int[] used = new int[0];
+        private int numUsed;
+
+        void reset(int width, int height) {
+            for (int i = 0; i < numUsed; i++) {
+                counts[used[i]] = 0;
+                colors[used[i]] = null;
+            }
+            numUsed = 0;
+
+            columns = width / CELL + 1;
+            rows = height / CELL + 1;
+            if (counts.length < columns * rows) {
+                counts = new int[columns * rows];
+                colors = new Color[columns * rows];
+                used = new int[columns * rows];
+            }
+        }
+
+        void add(double screenX, double screenY, Color c) {
+            int column = (int) (screenX / CELL);
+            int row = (int) (screenY / CELL);
+            if (column < 0 || column >= columns || row < 0 || row >= rows) {
+                return;
+            }
+            int cell = row * columns + column;
+            if (counts[cell]++ == 0) {
+                used[numUsed++] = cell;
+            }
+            colors[cell] = c;
+        }
+
+        void draw(Graphics g) {
+            for (int i = 0; i < numUsed; i++) {
+                int cell = used[i];
+                int size = (int) Math.min(2 * CELL, 1 + 2 * Math.sqrt(counts[cell]));
+                int x = (cell % columns) * CELL + CELL / 2 - size / 2;
+                int y = (cell / columns) * CELL + CELL / 2 - size / 2;
+                g.setColor(colors[cell]);
+                g.fillOval(x, y, size, size);
+            }
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.spacesimulation.display;
 
+import java.util.List;
+
 public interface ViewFrame {
 
     int getXSize();
@@ -18,9 +20,13 @@ public interface ViewFrame {
 
     boolean isStopped();
 
-    void updateItem(ConsoleItem ci);
-
-    void removeItem(String id);
+    /**
+     * Adds or replaces the changed items and drops the removed ones in one step.
+     * @param tick The tick the changes come from.
+     * @param tickNanos How long the simulation takes per tick.  Changed items are
+     * drawn moving from where they were to where they are over this long.
+     */
+    void publish(List<ConsoleItem> changed, List<Integer> removed, long tick, long tickNanos);
 
     int numItems();
 
@@ -5,4 +5,12 @@ public class ViewFrameFactory {
     public static ViewFrame create() {
         return new ViewFrameImpl();
     }
+
+    public static ViewFrame createHeadless() {
+        return new HeadlessViewFrame();
+    }
+
+    public static ViewFrame createCapture(FrameCapture capture) {
+        return new CaptureViewFrame(capture);
+    }
 }
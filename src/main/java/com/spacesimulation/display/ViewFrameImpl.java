@@ -3,13 +3,19 @@ package com.spacesimulation.display;
 import java.awt.Canvas;
 import java.awt.Color;
 import java.awt.Graphics;
+import java.awt.Graphics2D;
 import java.awt.Point;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
+import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
+import java.awt.event.MouseWheelEvent;
 import java.awt.image.BufferStrategy;
-import java.util.ArrayList;
+import com.spacesimulation.utils.TripleBuffer;
 import java.util.HashMap;
+import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import javax.swing.JMenuItem;
@@ -18,16 +24,39 @@ import javax.swing.JPopupMenu;
 
 public class ViewFrameImpl extends javax.swing.JFrame implements ViewFrame {
 
-    private final HashMap<String, ConsoleItem> points = new HashMap<String, ConsoleItem>();
+    /**
+     * points holds the items of the next frame.  It belongs to the simulation
+     * thread, which publishes a FrameSnapshot of it after every change through
+     * frames.  The render thread only ever reads the front FrameSnapshot, and
+     * frontLock keeps it in place while the Swing thread looks through it.
+     */
+    private final HashMap<Integer, ConsoleItem> points = new HashMap<Integer, ConsoleItem>();
+    private final TripleBuffer<FrameSnapshot> frames = new TripleBuffer<FrameSnapshot>(
+            new FrameSnapshot(), new FrameSnapshot(), new FrameSnapshot());
+    private final Object frontLock = new Object();
+    private long framesPublished;
+    private long lastTick = -1;
+    private long lastTickPublished;
+    private long lastTickNanos;
+    private volatile int numItems;
     private ViewLoop viewLoop;
-    private String info = "";
-    private boolean grid = true;
+    private volatile String info = "";
+    private volatile boolean grid = true;
+
+    /**
+     * viewport is only ever replaced on the Swing thread.  The render thread
+     * reads it once per frame.
+     */
+    private volatile Viewport viewport;
 
     /** Creates new form NewJFrame */
     public ViewFrameImpl() {
         initComponents();
         setTitle("Space View Frame");
+        setResizable(true);
         gui.setSize(ViewManager.getXSize(), ViewManager.getYSize());
+        viewport = new Viewport(0, 0, 1.0, ViewManager.getXSize(), ViewManager.getYSize());
+        addViewportListeners();
         pack();
         setVisible(true);
 
@@ -71,6 +100,50 @@ public class ViewFrameImpl extends javax.swing.JFrame implements ViewFrame {
         pack();
     }// </editor-fold>//GEN-END:initComponents
 
+    /**
+     * The mouse wheel zooms in and out around the pointer, dragging with the
+     * left button pans, and resizing the frame shows more or less of space.
+     */
+    private void addViewportListeners() {
+        MouseAdapter mouse = new MouseAdapter() {
+
+            private Point dragFrom;
+
+            public void mousePressed(MouseEvent evt) {
+                if (evt.getButton() == MouseEvent.BUTTON1) {
+                    dragFrom = evt.getPoint();
+                }
+            }
+
+            public void mouseReleased(MouseEvent evt) {
+                if (evt.getButton() == MouseEvent.BUTTON1) {
+                    dragFrom = null;
+                }
+            }
+
+            public void mouseDragged(MouseEvent evt) {
+                if (dragFrom != null) {
+                    viewport = viewport.pan(evt.getX() - dragFrom.x, evt.getY() - dragFrom.y);
+                    dragFrom = evt.getPoint();
+                }
+            }
+
+            public void mouseWheelMoved(MouseWheelEvent evt) {
+                viewport = viewport.zoom(Math.pow(ZOOM_STEP, -evt.getPreciseWheelRotation()), evt.getX(), evt.getY());
+            }
+        };
+        gui.addMouseListener(mouse);
+        gui.addMouseMotionListener(mouse);
+        gui.addMouseWheelListener(mouse);
+
+        gui.addComponentListener(new ComponentAdapter() {
+
+            public void componentResized(ComponentEvent evt) {
+                viewport = viewport.resize(gui.getWidth(), gui.getHeight());
+            }
+        });
+    }
+
     public void toggleGrid() {
         if (grid) {
             grid = false;
@@ -95,6 +168,16 @@ public class ViewFrameImpl extends javax.swing.JFrame implements ViewFrame {
             pop.add(menuItem);
 
 
+            menuItem = new JMenuItem("Reset View");
+            menuItem.addActionListener(new ActionListener() {
+
+                public void actionPerformed(ActionEvent e) {
+                    viewport = new Viewport(0, 0, 1.0, gui.getWidth(), gui.getHeight());
+                }
+            });
+            pop.add(menuItem);
+
+
             String s = "Pause Simulation";
             if (ViewManager.getInstance().isPaused()) {
                 s = "Resume Simulation";
@@ -161,19 +244,18 @@ public class ViewFrameImpl extends javax.swing.JFrame implements ViewFrame {
         return viewLoop.isPaused();
     }
 
-    public void updateItem(ConsoleItem ci) {
-        synchronized (points) {
-            points.put(ci.getId(), ci);
-        }
-    }
-
     private ConsoleItem findClosest(Point p) {
         double distance = Integer.MAX_VALUE;
         ConsoleItem closest = null;
-
-        synchronized (points) {
-            for (ConsoleItem ci : points.values()) {
-                double d = p.distance(ci.getLocation().getX(), ci.getLocation().getY());
+        Viewport view = viewport;
+        double x = view.toWorldX(p.getX());
+        double y = view.toWorldY(p.getY());
+
+        synchronized (frontLock) {
+            FrameSnapshot frame = frames.getFront();
+            for (int i = 0; i < frame.size(); i++) {
+                ConsoleItem ci = frame.get(i);
+                double d = Point.distance(x, y, ci.getLocation().getX(), ci.getLocation().getY());
                 if (d < distance) {
                     distance = d;
                     closest = ci;
@@ -184,24 +266,52 @@ public class ViewFrameImpl extends javax.swing.JFrame implements ViewFrame {
     }
 
     public int numItems() {
-        return points.size();
+        return numItems;
     }
 
     public void clearAllItems() {
-        synchronized (points) {
-            points.clear();
+        points.clear();
+        publishFrame();
+    }
+
+    public void publish(List<ConsoleItem> changed, List<Integer> removed, long tick, long tickNanos) {
+        lastTick = tick;
+        lastTickPublished = System.nanoTime();
+        lastTickNanos = tickNanos;
+        for (int i = 0; i < changed.size(); i++) {
+            ConsoleItem ci = changed.get(i);
+            ci.setPrevious(points.get(ci.getHandle()), tick);
+            putItem(ci);
+        }
+        for (int i = 0; i < removed.size(); i++) {
+            points.remove(removed.get(i));
         }
+        publishFrame();
     }
 
-    public void removeItem(String id) {
-        synchronized (points) {
-            points.remove(id);
+    /**
+     * Destroyed items are not drawn, so they are dropped rather than kept until their removal arrives.
+     */
+    private void putItem(ConsoleItem ci) {
+        if (ci.isDestroyed()) {
+            points.remove(ci.getHandle());
+        } else {
+            points.put(ci.getHandle(), ci);
         }
     }
+
+    private void publishFrame() {
+        FrameSnapshot frame = frames.getBack();
+        frame.fill(points.values(), ++framesPublished, lastTick, lastTickPublished, lastTickNanos);
+        numItems = frame.size();
+        frames.publish();
+    }
     // Variables declaration - do not modify//GEN-BEGIN:variables
     private java.awt.Canvas gui;
     // End of variables declaration//GEN-END:variables
 
+    private static final double ZOOM_STEP = 1.25;
+
     private class ViewLoop implements Runnable {
 
         private static final int FRAME_DELAY = 20; // 20ms. implies 50fps (1000/20) = 50
@@ -209,6 +319,7 @@ public class ViewFrameImpl extends javax.swing.JFrame implements ViewFrame {
         private boolean paused;
         private Canvas gui;
         private long cycleTime;
+        private final SceneRenderer renderer = new SceneRenderer();
 
         public ViewLoop(Canvas canvas) {
             gui = canvas;
@@ -253,77 +364,25 @@ public class ViewFrameImpl extends javax.swing.JFrame implements ViewFrame {
 
         private void updateGUI(BufferStrategy strategy) {
 
-            Graphics g = strategy.getDrawGraphics();
-
-            g.setColor(Color.black);
-            g.fillRect(0, 0, gui.getWidth(), gui.getHeight());
+            Graphics2D g = (Graphics2D) strategy.getDrawGraphics();
+            Viewport view = viewport;
 
-            ArrayList<ConsoleItem> allItems = null;
-            synchronized (points) {
-                allItems = new ArrayList<ConsoleItem>(points.values());
-            }
-
-            for (ConsoleItem ci : allItems) {
-                if (ci.isDestroyed()) {
-                    synchronized (points) {
-                        points.remove(ci.getId());
-                    }
-                    continue;
-                }
-                g.setColor((ci.isDamaged() ? ci.getColor().darker() : ci.getColor()));
-                g.fillPolygon(ci.getPolygon(getZSize()));
+            // The viewport catches up with a resize of the canvas a moment later.
+            if (gui.getWidth() != view.getWidth() || gui.getHeight() != view.getHeight()) {
+                g.setColor(Color.black);
+                g.fillRect(0, 0, gui.getWidth(), gui.getHeight());
             }
 
-            drawLegend(g);
-            drawCoords(g);
-            if (grid) {
-                drawGrid(g);
+            // frontLock is only ever contended by a mouse click looking for the closest item.
+            synchronized (frontLock) {
+                frames.swapFront();
+                renderer.render(g, frames.getFront(), view, grid, info, gui.getGraphicsConfiguration(), System.nanoTime());
             }
 
-            drawSummary(g);
-
             g.dispose();
             strategy.show();
         }
 
-        private void drawLegend(Graphics g) {
-            g.setColor(Color.white);
-            g.drawString("X", gui.getWidth() - 15, 15);
-            g.drawLine(gui.getWidth() - 75, 10, gui.getWidth() - 20, 10);
-            g.drawString("Y", gui.getWidth() - 15, 30);
-            g.drawLine(gui.getWidth() - 11, 33, gui.getWidth() - 11, 83);
-            g.drawString("Z", gui.getWidth() - 25, 27);
-            g.drawLine(gui.getWidth() - 30, 30, gui.getWidth() - 65, 65);
-
-        }
-
-        private void drawSummary(Graphics g) {
-            g.setColor(Color.white);
-            g.drawString(info, 5, gui.getHeight() - 5);
-        }
-
-        private void drawCoords(Graphics g) {
-            g.setColor(Color.white);
-            g.drawString("(0, 0)", 5, 12);
-            g.drawString("(" + gui.getWidth() + ", " + gui.getHeight() + ")", gui.getWidth() - 65, gui.getHeight() - 5);
-        }
-
-        private void drawGrid(Graphics g) {
-            g.setColor(Color.darkGray);
-            double xSpace = gui.getWidth() / 50.0;
-            double ySpace = gui.getHeight() / 50.0;
-
-            // Horiz
-            for (int y = 0; y < ySpace; y++) {
-                g.drawLine(0, y * 50, gui.getWidth(), y * 50);
-            }
-
-            // Vert
-            for (int x = 0; x < xSpace; x++) {
-                g.drawLine(x * 50, 0, x * 50, gui.getHeight());
-            }
-        }
-
         private void synchFramerate() {
             cycleTime = cycleTime + FRAME_DELAY;
             long difference = cycleTime - System.currentTimeMillis();
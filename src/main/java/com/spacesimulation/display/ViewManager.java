@@ -1,5 +1,7 @@
 package com.spacesimulation.display;
 
+import java.util.List;
+
 public class ViewManager {
 
     private volatile static ViewManager instance;
@@ -8,6 +10,8 @@ public class ViewManager {
     private static int ySize;
     private static int zSize;
     private static boolean setup = false;
+    private static boolean headless = false;
+    private static FrameCapture capture;
 
     public static ViewManager getInstance() {
         if (!setup) {
@@ -32,9 +36,40 @@ public class ViewManager {
         setup = true;
     }
 
+    /**
+     * Sets up a ViewManager that never opens a window, for runs without a display.
+     */
+    public static void setupHeadless(int x, int y, int z) {
+        System.setProperty("java.awt.headless", "true");
+        headless = true;
+        setup(x, y, z);
+    }
+
+    /**
+     * Sets up a ViewManager that never opens a window and records every tick with capture instead.
+     */
+    public static void setupCapture(int x, int y, int z, FrameCapture frameCapture) {
+        capture = frameCapture;
+        setupHeadless(x, y, z);
+    }
+
+    public static boolean isHeadless() {
+        return headless;
+    }
+
+    public static boolean isCapturing() {
+        return capture != null;
+    }
+
     private ViewManager() {
 
-        viewFrameDelegate = ViewFrameFactory.create();
+        if (capture != null) {
+            viewFrameDelegate = ViewFrameFactory.createCapture(capture);
+        } else if (headless) {
+            viewFrameDelegate = ViewFrameFactory.createHeadless();
+        } else {
+            viewFrameDelegate = ViewFrameFactory.create();
+        }
     }
 
     public void toggleGrid() {
@@ -77,12 +112,8 @@ public class ViewManager {
         viewFrameDelegate.stop();
     }
 
-    public void updateItem(ConsoleItem ci) {
-        viewFrameDelegate.updateItem(ci);
-    }
-
-    public void removeItem(String id) {
-        viewFrameDelegate.removeItem(id);
+    public void publish(List<ConsoleItem> changed, List<Integer> removed, long tick, long tickNanos) {
+        viewFrameDelegate.publish(changed, removed, tick, tickNanos);
     }
 
     public int numItems() {
@@ -0,0 +1,129 @@
+package com.spacesimulation.display;
+
+import java.awt.geom.AffineTransform;
+
+/**
+ * The part of space the view shows: the point of space at the top left corner
+ * of the canvas, how many pixels a unit of space takes up, and the size of the
+ * canvas in pixels.  A Viewport never changes; zooming, panning and resizing
+ * make a new one, so the render thread can use one without locking while the
+ * Swing thread replaces it.
+ */
+public class Viewport {
+
+    public static final double MIN_SCALE = 1.0 / 64.0;
+    public static final double MAX_SCALE = 16.0;
+
+    private final double left;
+    private final double top;
+    private final double scale;
+    private final int width;
+    private final int height;
+
+    public Viewport(double left, double top, double scale, int width, int height) {
+        this.left = left;
+        this.top = top;
+        this.scale = Math.max(MIN_SCALE, Math.min(MAX_SCALE, scale));
+        this.width = width;
+        this.height = height;
+    }
+
+    /**
+     * @param factor How much to multiply the scale by.  Above 1 zooms in.
+     * @param screenX The x pixel that stays over the same point of space.
+     * @param screenY The y pixel that stays over the same point of space.
+     */
+    public Viewport zoom(double factor, int screenX, int screenY) {
+        double newScale = Math.max(MIN_SCALE, Math.min(MAX_SCALE, scale * factor));
+        double x = toWorldX(screenX);
+        double y = toWorldY(screenY);
+        return new Viewport(x - screenX / newScale, y - screenY / newScale, newScale, width, height);
+    }
+
+    /**
+     * @param dx How many pixels to move the picture to the right.
+     * @param dy How many pixels to move the picture down.
+     */
+    public Viewport pan(int dx, int dy) {
+        return new Viewport(left - dx / scale, top - dy / scale, scale, width, height);
+    }
+
+    public Viewport resize(int newWidth, int newHeight) {
+        return new Viewport(left, top, scale, newWidth, newHeight);
+    }
+
+    public double getLeft() {
+        return left;
+    }
+
+    public double getTop() {
+        return top;
+    }
+
+    public double getRight() {
+        return left + width / scale;
+    }
+
+    public double getBottom() {
+        return top + height / scale;
+    }
+
+    public double getScale() {
+        return scale;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public double toScreenX(double x) {
+        return (x - left) * scale;
+    }
+
+    public double toScreenY(double y) {
+        return (y - top) * scale;
+    }
+
+    public double toWorldX(double screenX) {
+        return left + screenX / scale;
+    }
+
+    public double toWorldY(double screenY) {
+        return top + screenY / scale;
+    }
+
+    /**
+     * @return True if anything within radius of (x, y) could be on the canvas, otherwise false.
+     */
+    public boolean isVisible(double x, double y, double radius) {
+        return x + radius >= left && x - radius <= getRight()
+                && y + radius >= top && y - radius <= getBottom();
+    }
+
+    /**
+     * @return The transform from space to canvas pixels.
+     */
+    public AffineTransform getTransform() {
+        AffineTransform at = AffineTransform.getScaleInstance(scale, scale);
+        at.translate(-left, -top);
+        return at;
+    }
+
+    public boolean equals(Object o) {
+        if (!(o instanceof Viewport)) {
+            return false;
+        }
+        Viewport v = (Viewport) o;
+        return left == v.left && top == v.top && scale == v.scale && width == v.width && height == v.height;
+    }
+
+    public int hashCode() {
+        long bits = Double.doubleToLongBits(left) * 31 + Double.doubleToLongBits(top);
+        bits = bits * 31 + Double.doubleToLongBits(scale);
+        return (int) (bits ^ (bits >>> 32)) * 31 * 31 + width * 31 + height;
+    }
+}
@@ -6,10 +6,12 @@ import com.spacesimulation.exceptions.InvalidDoubleException;
 import com.spacesimulation.exceptions.InvalidIntegerException;
 import com.spacesimulation.exceptions.NullObjectException;
 import java.awt.Color;
+import com.spacesimulation.utils.Faction;
 import com.spacesimulation.utils.Identifiable;
 import com.spacesimulation.utils.Movable;
 import com.spacesimulation.utils.Point3D;
 import com.spacesimulation.utils.PolygonPlus;
+import com.spacesimulation.utils.ShapeTemplate;
 import com.spacesimulation.factories.MovableImplFactory;
 import com.spacesimulation.factories.IdentifiableImplFactory;
 import com.spacesimulation.factories.ConsoleItemFactory;
@@ -29,14 +31,14 @@ public class CargoShip implements SpaceEntity
      */
     
     private static String shipType = "Cargo Ship";
-    private PolygonPlus polygon;
+    private static final EntityKind KIND = EntityKind.CARGO_SHIP;
+    private static final ShapeTemplate SHAPE = buildShape();
     private boolean destroyed;
     private boolean damaged;
     private boolean atPort;
     private double strength;
     private double maxStrength;
     private int debrisClouds;
-    private String infoText;
     
     /**
      * CargoShip's references to myMover and myId impls which handle
@@ -60,7 +62,6 @@ public class CargoShip implements SpaceEntity
      */
     public CargoShip(String color, double ang, double sp, double mStrength, int clouds) throws InvalidDoubleException, InvalidIntegerException, ColorNotFoundException, NullObjectException 
     {
-        buildShape();
         destroyed = false;
         damaged = false;
         atPort = false;
@@ -68,11 +69,31 @@ public class CargoShip implements SpaceEntity
         setMaxStrength(mStrength);
         setDebrisClouds(clouds);
         
-        myMover = MovableImplFactory.createMovable(shipType, sp, ang);
+        myMover = MovableImplFactory.createMovable(KIND, sp, ang);
 
         myId = IdentifiableImplFactory.createIdentifiableImpl(color, shipType);
+    }
+
+    /**
+     * Constructor for a CargoShip whose values have already been checked, such as one from a Scenario.
+     * @param side The side that the CargoShip is on.
+     * @param ang The CargoShip's angle of travel.
+     * @param sp The CargoShip's speed.
+     * @param mStrength The CargoShip's maximum strength.
+     * @param clouds The number of DebrisClouds that CargoShip is initiated with.
+     */
+    public CargoShip(Faction side, double ang, double sp, double mStrength, int clouds)
+    {
+        destroyed = false;
+        damaged = false;
+        atPort = false;
+        strength = mStrength;
+        maxStrength = mStrength;
+        debrisClouds = clouds;
         
-        updateInfoText();
+        myMover = MovableImplFactory.createValidMovable(KIND, sp, ang);
+
+        myId = IdentifiableImplFactory.createIdentifiableImpl(side, shipType);
     }
     
     /**
@@ -95,13 +116,13 @@ public class CargoShip implements SpaceEntity
     {
         if (getStrength() < getMaxStrength())
         {
-            String port = EntityManager.getInstance().getNearestSpacePort(myMover.getLocation());
+            SpaceEntity port = EntityManager.getInstance().findNearestSpacePort(myMover.getLocation());
             if (port == null)
                 return;
             
-            if (port.contains(getColorSt()))
+            if (port.getFaction() == getFaction())
             {
-                Point3D p = EntityManager.getInstance().getLocationById(port);
+                Point3D p = EntityManager.getInstance().getLocationByHandle(port.getHandle());
                 if (!atSpacePort())
                 {
                     if (p != null)
@@ -113,7 +134,7 @@ public class CargoShip implements SpaceEntity
                             myMover.setDestination(p);
                         }
                         else
-                            myMover.setDestination(EntityManager.getInstance().getLocationById(port));
+                            myMover.setDestination(p);
                     }
                 }
                 else
@@ -140,7 +161,7 @@ public class CargoShip implements SpaceEntity
     /**
      * Builds the CargoShip polygon.
      */
-    private void buildShape() 
+    private static ShapeTemplate buildShape() 
     {
         ArrayList<Point> sp = new ArrayList<Point>();
         sp.add(new Point(+0, -20));
@@ -148,9 +169,10 @@ public class CargoShip implements SpaceEntity
         sp.add(new Point(+0, +30));
         sp.add(new Point(-12, +16));
         
-        polygon = new PolygonPlus();
+        PolygonPlus polygon = new PolygonPlus();
         for (int i = 0; i < sp.size(); i++)
             polygon.addPoint(sp.get(i).x, sp.get(i).y);
+        return new ShapeTemplate(polygon);
     }
     
     /**
@@ -158,9 +180,9 @@ public class CargoShip implements SpaceEntity
      */
     public ConsoleItem makeConsoleItem()
     {
-        return ConsoleItemFactory.createConsoleItem(getId(), getLocation(), 
+        return ConsoleItemFactory.createConsoleItem(getHandle(), getLocation(), 
                                                     getColor(), getAngle(), 
-                                                    getPolygon(), getInfoText(), 
+                                                    getPolygon(), this, 
                                                     isDestroyed(), isDamaged());
     }
     
@@ -189,6 +211,14 @@ public class CargoShip implements SpaceEntity
     }
 
      /**
+     * @return The handle of the CargoShip.
+     */
+    public int getHandle() 
+    {
+        return myId.getHandle();
+    }
+
+    /**
      * @return The Id of the CargoShip
      */
     public String getId() 
@@ -205,12 +235,11 @@ public class CargoShip implements SpaceEntity
     }
     
      /**
-     * @return The Polygon of the CargoShip
+     * @return The outline of the CargoShip, shared with every CargoShip.
      */
-    public PolygonPlus getPolygon() 
+    public ShapeTemplate getPolygon() 
     {
-        PolygonPlus pp = new PolygonPlus(polygon);
-        return pp;
+        return SHAPE;
     }
 
     /**
@@ -226,23 +255,15 @@ public class CargoShip implements SpaceEntity
      */
     public String getInfoText() 
     {
-        return infoText;
-    }
-    
-    /**
-     * Updates the CargoShip's InfoText as it may have changed.
-     */
-    public void updateInfoText()
-    {
-        infoText = "ID: " + myId.getId() + "\n" + 
-                   "Location: " + EntityManager.getInstance().formatLocation(myMover.getLocation()) + "\n" + 
-                   "Destination: " + EntityManager.getInstance().formatLocation(myMover.getDestination()) + "\n" +
-                   "Speed: " + myMover.getSpeed() + "\n" +
-                   "Angle: " + String.format("%.2f", myMover.getAngle()) + "\n" +
-                   "Damaged: " + damaged + "\n" +
-                   "Strength: " + String.format("%.2f", strength) + "\n" +
-                   "Max Strength: " + maxStrength + "\n" +
-                   "Debris Clouds: " + debrisClouds;
+        return "ID: " + myId.getId() + "\n" + 
+               "Location: " + EntityManager.getInstance().formatLocation(myMover.getLocation()) + "\n" + 
+               "Destination: " + EntityManager.getInstance().formatLocation(myMover.getDestination()) + "\n" +
+               "Speed: " + myMover.getSpeed() + "\n" +
+               "Angle: " + String.format("%.2f", myMover.getAngle()) + "\n" +
+               "Damaged: " + damaged + "\n" +
+               "Strength: " + String.format("%.2f", strength) + "\n" +
+               "Max Strength: " + maxStrength + "\n" +
+               "Debris Clouds: " + debrisClouds;
     }
     
     /**
@@ -347,6 +368,30 @@ public class CargoShip implements SpaceEntity
     {
         return shipType;
     }
+    
+    /**
+     * @return EntityKind.CARGO_SHIP.
+     */
+    public EntityKind getKind()
+    {
+        return KIND;
+    }
+    
+    /**
+     * @return The side the CargoShip is on.
+     */
+    public Faction getFaction()
+    {
+        return myId.getFaction();
+    }
+    
+    /**
+     * @return The capabilities of every CargoShip.
+     */
+    public int getCapabilities()
+    {
+        return KIND.getCapabilities();
+    }
 
     /**
      * @return The String representation of the CargoShip's color.
@@ -415,6 +460,7 @@ public class CargoShip implements SpaceEntity
         
         if (destroyed == true)
         {
+            myMover.detonate();
             try {
                 DebrisCloud dc = DebrisCloudFactory.build(1, 200, "GRAY", getLocation(), true);
                 EntityManager.getInstance().addEntity(dc);
@@ -443,4 +489,13 @@ public class CargoShip implements SpaceEntity
     public boolean isTargetable() {
         return true;
     }
+
+    /**
+     * Releases the CargoShip's movement storage and handle.
+     */
+    public void release()
+    {
+        myMover.release();
+        myId.release();
+    }
 }
@@ -8,9 +8,14 @@ import com.spacesimulation.exceptions.NullObjectException;
 import java.awt.Color;
 import java.awt.Point;
 import java.util.ArrayList;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import com.spacesimulation.utils.Faction;
 import com.spacesimulation.utils.Identifiable;
 import com.spacesimulation.utils.Point3D;
 import com.spacesimulation.utils.PolygonPlus;
+import com.spacesimulation.utils.ShapeTemplate;
+import com.spacesimulation.factories.DebrisCloudFactory;
 import com.spacesimulation.factories.IdentifiableImplFactory;
 import com.spacesimulation.factories.MovableImplFactory;
 import com.spacesimulation.factories.ConsoleItemFactory;
@@ -27,8 +32,14 @@ public class DebrisCloud implements SpaceEntity
      * DebrisClouds data members.
      */
     private static String shipType = "Defensive Debris Cloud";
-    private PolygonPlus polygon;
-    private String infoText;
+    private static final EntityKind KIND = EntityKind.DEBRIS_CLOUD;
+    private ShapeTemplate shape;
+
+    /**
+     * The outline at size factor 1, and the scaled outlines made from it so far, keyed by size factor.
+     */
+    private static final ShapeTemplate BASE_SHAPE = buildShape();
+    private static final ConcurrentMap<Double, ShapeTemplate> SCALED_SHAPES = new ConcurrentHashMap<Double, ShapeTemplate>();
     private double sizeFactor;
     private int durationTime;
     private boolean targetable;
@@ -40,6 +51,17 @@ public class DebrisCloud implements SpaceEntity
     private Identifiable myId;
     private Movable myMover;
     
+    /**
+     * released is true once the DebrisCloud has been handed back to DebrisCloudFactory for reuse.
+     */
+    private boolean released;
+    
+    /**
+     * infoText describes this life of the DebrisCloud to the ConsoleItems made from it.
+     * It is only made once a ConsoleItem is, and a new one is made after the DebrisCloud is reused.
+     */
+    private EntityInfoText infoText;
+    
     /**
      * Constructor for DebrisCloud.
      * @param sFactor The size factor of the DebrisCloud.
@@ -54,15 +76,42 @@ public class DebrisCloud implements SpaceEntity
      */
     public DebrisCloud(double sFactor, int dTime, String color, Point3D loc, boolean tar) throws InvalidDoubleException, InvalidIntegerException, ColorNotFoundException, NullObjectException
     {
-        buildShape();
         setSizeFactor(sFactor);
-        polygon.scale(sFactor);
+        shape = shapeFor(sFactor);
         setDurationTime(dTime);
         targetable = tar;
         
         myId = IdentifiableImplFactory.createIdentifiableImpl(color, shipType);
 
-        myMover = MovableImplFactory.createMovable(shipType, loc, loc, 0.0, 0.0);
+        // A DebrisCloud never turns, so it gets a random orientation once.
+        double angle = Math.toRadians(EntityManager.getInstance().random().nextDouble()*360.0);
+        myMover = MovableImplFactory.createMovable(KIND, loc, loc, 0.0, angle);
+    }
+    
+    /**
+     * Makes a released DebrisCloud into a new one, as if it had been constructed with these arguments.
+     * @param sFactor The size factor of the DebrisCloud.
+     * @param dTime The duration time of the DebrisCloud.
+     * @param color The Color of the DebrisCloud.
+     * @param loc The Location of the DebrisCloud.
+     * @param tar Whether the DebrisCloud should be targeted by GuidedMissiles.
+     * @throws InvalidDoubleException if sFactor < 0.
+     * @throws InvalidIntegerException if dTime < 0.
+     * @throws ColorNotFoundException if the Color passed in does not exist.
+     * @throws NullObjectException if the Color is null.
+     */
+    public void reinitialize(double sFactor, int dTime, String color, Point3D loc, boolean tar) throws InvalidDoubleException, InvalidIntegerException, ColorNotFoundException, NullObjectException
+    {
+        setSizeFactor(sFactor);
+        shape = shapeFor(sFactor);
+        setDurationTime(dTime);
+        targetable = tar;
+        
+        myId.reinitialize(color, shipType);
+
+        double angle = Math.toRadians(EntityManager.getInstance().random().nextDouble()*360.0);
+        myMover.reinitialize(loc, loc, 0.0, angle);
+        released = false;
     }
     
     /**
@@ -73,7 +122,20 @@ public class DebrisCloud implements SpaceEntity
         durationTime--;
     }
 
-    private void buildShape() 
+    private static ShapeTemplate shapeFor(double sFactor)
+    {
+        ShapeTemplate scaled = SCALED_SHAPES.get(sFactor);
+        if (scaled == null)
+        {
+            scaled = BASE_SHAPE.scale(sFactor);
+            ShapeTemplate existing = SCALED_SHAPES.putIfAbsent(sFactor, scaled);
+            if (existing != null)
+                scaled = existing;
+        }
+        return scaled;
+    }
+
+    private static ShapeTemplate buildShape() 
     {
         ArrayList<Point> sp = new ArrayList<Point>(); 
         sp.add(new Point(0, -13)); 
@@ -101,10 +163,11 @@ public class DebrisCloud implements SpaceEntity
         sp.add(new Point(-7, -14)); 
         sp.add(new Point(-4, -15)); 
          
-        polygon = new PolygonPlus(); 
+        PolygonPlus polygon = new PolygonPlus(); 
         for (int i = 0; i < sp.size(); i++) { 
             polygon.addPoint(sp.get(i).x, sp.get(i).y); 
         } 
+        return new ShapeTemplate(polygon);
     }
 
     /**
@@ -112,10 +175,17 @@ public class DebrisCloud implements SpaceEntity
      */
     public ConsoleItem makeConsoleItem()
     {
-        return ConsoleItemFactory.createConsoleItem(getId(), myMover.getLocation(), 
-                                                    getColor(), Math.toRadians(Math.random()*360.0), 
-                                                    getPolygon(), getInfoText(), 
-                                                    isDestroyed(), false);
+        return ConsoleItemFactory.createConsoleItem(getHandle(), myMover.getLocation(), 
+                                                    getColor(), getAngle(), 
+                                                    getPolygon(), infoText(), 
+                                                    isDestroyed(), false, true);
+    }
+
+    private EntityInfoText infoText()
+    {
+        if (infoText == null)
+            infoText = new EntityInfoText(this);
+        return infoText;
     }
 
     /**
@@ -126,6 +196,14 @@ public class DebrisCloud implements SpaceEntity
         return myId.getColor();
     }
 
+    /**
+     * @return The handle of the DebrisCloud.
+     */
+    public int getHandle() 
+    {
+        return myId.getHandle();
+    }
+
     /**
      * @return The String id of the DebrisCloud.
      */
@@ -143,12 +221,11 @@ public class DebrisCloud implements SpaceEntity
     }
 
     /**
-     * @return The Polygon of the DebrisCloud.
+     * @return The outline of the DebrisCloud, shared with every DebrisCloud of the same size.
      */
-    public PolygonPlus getPolygon() 
+    public ShapeTemplate getPolygon() 
     {
-        PolygonPlus pp = new PolygonPlus(polygon);
-        return pp;
+        return shape;
     }
 
     /**
@@ -156,15 +233,7 @@ public class DebrisCloud implements SpaceEntity
      */
     public String getInfoText() 
     {
-        return infoText;
-    }
-
-    /**
-     * Updates the infoText if any data has changed.
-     */
-    public void updateInfoText() 
-    {
-        infoText = "ID: " + myId.getId() + "\n" + 
+        return "ID: " + myId.getId() + "\n" + 
             "Location: " + EntityManager.getInstance().formatLocation(myMover.getLocation()) + "\n" + 
             "Duration: " + durationTime;
     }
@@ -262,6 +331,32 @@ public class DebrisCloud implements SpaceEntity
         return shipType;
     }
     
+    /**
+     * @return EntityKind.DEBRIS_CLOUD.
+     */
+    public EntityKind getKind()
+    {
+        return KIND;
+    }
+    
+    /**
+     * @return The side the DebrisCloud is on.
+     */
+    public Faction getFaction()
+    {
+        return myId.getFaction();
+    }
+    
+    /**
+     * @return TARGETABLE and DECOY if the DebrisCloud can be targeted, otherwise no capabilities.
+     */
+    public int getCapabilities()
+    {
+        if (targetable)
+            return EntityKind.TARGETABLE | EntityKind.DECOY;
+        return 0;
+    }
+    
     /**
      * @return The String representation of the DebrisCloud's color.
      */
@@ -306,4 +401,21 @@ public class DebrisCloud implements SpaceEntity
         return targetable;
     }
     
+
+    /**
+     * Releases the DebrisCloud's movement storage and handle and hands it back to DebrisCloudFactory for reuse.
+     */
+    public void release()
+    {
+        if (!released)
+        {
+            if (infoText != null)
+                infoText.detach();
+            infoText = null;
+            released = true;
+            myMover.release();
+            myId.release();
+            DebrisCloudFactory.recycle(this);
+        }
+    }
 }
@@ -0,0 +1,44 @@
+package com.spacesimulation.domain;
+
+import com.spacesimulation.display.InfoTextSource;
+
+/**
+ * The info text of one life of a pooled SpaceEntity.  While the SpaceEntity is
+ * live the text is read from it.  When it is released the last text is kept and
+ * the SpaceEntity is let go, so a ConsoleItem still in one of the view's frames
+ * goes on describing the SpaceEntity it was made from after that is reused.
+ * @author Steven Muschler
+ */
+class EntityInfoText implements InfoTextSource
+{
+    private InfoTextSource owner;
+    private String last;
+
+    /**
+     * @param owner The SpaceEntity to read the text from until detach is called.
+     */
+    EntityInfoText(InfoTextSource owner)
+    {
+        this.owner = owner;
+    }
+
+    public synchronized String getInfoText()
+    {
+        if (owner != null)
+            return owner.getInfoText();
+        return last;
+    }
+
+    /**
+     * Keeps the owner's text as it is now and stops reading from it.  Called
+     * just before the owner is released, while its state is still its own.
+     */
+    synchronized void detach()
+    {
+        if (owner != null)
+        {
+            last = owner.getInfoText();
+            owner = null;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.spacesimulation.domain;
+
+/**
+ * The kinds of SpaceEntity, with the capabilities every SpaceEntity of a kind has.
+ * Capabilities are bits, so classifying a SpaceEntity for a query is one mask
+ * test on SpaceEntity.getCapabilities().
+ * @author Steven Muschler
+ */
+
+public enum EntityKind
+{
+    CARGO_SHIP("Cargo Ship", EntityKind.SHIP | EntityKind.TARGETABLE | EntityKind.RADAR_VISIBLE),
+    FIGHTER_SHIP("Fighter Ship", EntityKind.SHIP | EntityKind.TARGETABLE | EntityKind.RADAR_VISIBLE),
+    SPACE_PORT("Space Port", EntityKind.PORT | EntityKind.TARGETABLE | EntityKind.RADAR_VISIBLE),
+    GUIDED_MISSILE("Guided Missile", EntityKind.TARGETABLE),
+    RAIL_GUN_BOLT("Rail Gun Bolt", 0),
+    DEBRIS_CLOUD("Defensive Debris Cloud", 0);
+
+    /**
+     * The SpaceEntity is a ship (Fighter Ship, Cargo Ship,...).
+     */
+    public static final int SHIP = 1;
+
+    /**
+     * The SpaceEntity is a port (SpacePort...).
+     */
+    public static final int PORT = 1 << 1;
+
+    /**
+     * The SpaceEntity can be targeted by weapons.
+     */
+    public static final int TARGETABLE = 1 << 2;
+
+    /**
+     * The SpaceEntity is picked up by radar sweeps.
+     */
+    public static final int RADAR_VISIBLE = 1 << 3;
+
+    /**
+     * The SpaceEntity can draw a GuidedMissile that is reaquiring its lock.
+     * Radar visible SpaceEntities always can; a targetable DebrisCloud adds this bit itself.
+     */
+    public static final int DECOY = 1 << 4;
+
+    private final String typeName;
+    private final int capabilities;
+
+    private EntityKind(String typeName, int capabilities)
+    {
+        this.typeName = typeName;
+        this.capabilities = capabilities;
+    }
+
+    /**
+     * @return The type name, as returned by SpaceEntity.getEntityType().
+     */
+    public String getTypeName()
+    {
+        return typeName;
+    }
+
+    /**
+     * @return The capability bits every SpaceEntity of this kind has.
+     */
+    public int getCapabilities()
+    {
+        return capabilities;
+    }
+}
@@ -1,23 +1,32 @@
 package com.spacesimulation.domain;
 
+import com.spacesimulation.display.ConsoleItem;
 import com.spacesimulation.display.ViewManager;
 import com.spacesimulation.exceptions.ColorNotFoundException;
 import com.spacesimulation.exceptions.InvalidDoubleException;
 import com.spacesimulation.exceptions.InvalidIntegerException;
 import com.spacesimulation.exceptions.NullObjectException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
+import java.util.List;
 import com.spacesimulation.factories.CargoShipFactory;
 import com.spacesimulation.factories.FighterShipFactory;
+import com.spacesimulation.factories.MovableImplFactory;
 import com.spacesimulation.factories.SpacePortFactory;
-import java.awt.Color;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import com.spacesimulation.utils.Faction;
+import com.spacesimulation.utils.HandleAllocator;
+import com.spacesimulation.utils.MovementStore;
 import com.spacesimulation.utils.Point3D;
+import com.spacesimulation.utils.SimulationRandom;
 
 /**
  * A class that keeps track of the SpaceEntities and contains the game's loop.
@@ -27,11 +36,123 @@ public class EntityManager {
 
     private volatile static EntityManager instance;
 
-    private List<SpaceEntity> spaceItems = new CopyOnWriteArrayList<SpaceEntity>();
+    /**
+     * Ranges used by the range queries.  The spatial index cell size is derived
+     * from them: a cell is as wide as the largest detonation, so a detonation or
+     * docking query visits a handful of cells and a radar sweep a few hundred.
+     */
+    private static final double RADAR_RANGE = 150.0;
+    private static final double DOCKING_RANGE = 5.0;
+    private static final double MAX_DETONATION_RANGE = 25.0;
+    private static final double CELL_SIZE = 2.0 * MAX_DETONATION_RANGE;
+
+    /**
+     * The furthest any SpaceEntity moves in one tick (a RailGunBolt).  The index is
+     * only rebuilt once per tick, so queries are widened by this much.
+     */
+    private static final double MAX_TICK_TRAVEL = 30.0;
+
+    private static final int INITIAL_CAPACITY = 256;
+
+    /**
+     * spaceItems only changes between ticks.  addEntity and removeEntity queue
+     * their changes and the UpdateLoop applies them at the end of every tick.
+     */
+    private EntityStore spaceItems = new EntityStore(INITIAL_CAPACITY);
+    private ArrayList<SpaceEntity> addedItems = new ArrayList<SpaceEntity>();
+    private ArrayList<SpaceEntity> removedItems = new ArrayList<SpaceEntity>();
+
+    private KindBucketedIndex spatialIndex = new KindBucketedIndex(CELL_SIZE, MAX_TICK_TRAVEL);
+
+    /**
+     * The kinds each range query looks at.  Radar only sees RADAR_VISIBLE kinds,
+     * and a GuidedMissile reaquiring its lock may also be drawn by a DECOY cloud.
+     */
+    private static final EntityKind[] RADAR_KINDS = { EntityKind.CARGO_SHIP, EntityKind.FIGHTER_SHIP, EntityKind.SPACE_PORT };
+    private static final EntityKind[] LOCK_KINDS = { EntityKind.CARGO_SHIP, EntityKind.FIGHTER_SHIP, EntityKind.SPACE_PORT, EntityKind.DEBRIS_CLOUD };
+    private static final EntityKind[] DOCKING_KINDS = { EntityKind.CARGO_SHIP };
+
+    private SpacePortIndex portIndex = new SpacePortIndex();
+
+    /**
+     * handleTable holds every live SpaceEntity at the index of its handle.
+     * It is only changed between ticks, by applyPendingChanges.
+     */
+    private SpaceEntity[] handleTable = new SpaceEntity[INITIAL_CAPACITY];
    
     private Map<String, Integer> numItems = Collections.synchronizedMap(new HashMap<String, Integer>());
     
     private UpdateLoop updateLoop;
+    private UpdateLoop tickLoop;
+
+    /**
+     * The read phase of a tick works through spaceItems in chunks of CHUNK_SIZE.
+     * The chunking does not depend on the number of threads, and deferred actions
+     * are applied in chunk order, so every thread count gives the same result.
+     */
+    private static final int CHUNK_SIZE = 256;
+    private static final int MOVE_PASS = 0;
+    private static final int UPDATE_PASS = 1;
+    private static final EntityKind[] KINDS = EntityKind.values();
+
+    private ForkJoinPool updatePool;
+    private volatile boolean readPhase;
+
+    /**
+     * With packed movement on, the ships keep their movement state in shipStore,
+     * which is stepped in one pass at the start of the move pass.
+     */
+    private MovementStore shipStore;
+
+    /**
+     * publishing is false when there is no display and nothing is being recorded, in which case no ConsoleItems are built.
+     */
+    private volatile boolean publishing = true;
+
+    /**
+     * Only SpaceEntities that moved or turned at least this much, or whose
+     * damaged or destroyed state changed, are published again.
+     */
+    private static final double MIN_PUBLISH_MOVE = 0.25;
+    private static final double MIN_PUBLISH_TURN = 0.01;
+    private final ArrayList<ConsoleItem> changedItems = new ArrayList<ConsoleItem>();
+    private final ArrayList<Integer> removedHandles = new ArrayList<Integer>();
+
+    /**
+     * updateDelay is how long the UpdateLoop takes per tick when there is a display, in ms.
+     */
+    private static final int DEFAULT_UPDATE_DELAY = 20;
+    private volatile int updateDelay = DEFAULT_UPDATE_DELAY;
+    private boolean[] destroyedAtStart = new boolean[INITIAL_CAPACITY];
+    private ArrayList<TickBuffer> tickBuffers = new ArrayList<TickBuffer>();
+
+    /**
+     * currentBuffer is the TickBuffer of the chunk the current thread is working on during the read phase.
+     */
+    private final ThreadLocal<TickBuffer> currentBuffer = new ThreadLocal<TickBuffer>();
+
+    /**
+     * Every random number in the simulation comes from a stream derived from seed.
+     * mainRandom is used outside of the read phase.  During the read phase each
+     * chunk draws from its TickBuffer's stream, which is reseeded from seed, the
+     * tick, the pass and the chunk, so a run repeats for any number of threads.
+     */
+    private long seed = System.nanoTime();
+    private SimulationRandom mainRandom = new SimulationRandom(seed);
+    private long tick;
+
+    private static final Logger LOGGER = Logger.getLogger(EntityManager.class.getName());
+
+    /**
+     * statistics is logged every statisticsLogInterval ticks, or never if it is 0.
+     */
+    private final TickStatistics statistics = new TickStatistics();
+    private volatile int statisticsLogInterval = 500;
+
+    /**
+     * queryNanos is the time spent in radar and detonation queries outside of the read phase this tick.
+     */
+    private final long[] queryNanos = new long[TickStatistics.numPhases()];
 
     public static EntityManager getInstance() {
         if (instance == null) {
@@ -70,6 +191,48 @@ public class EntityManager {
         updateLoop.setRunning(false);
     }
 
+    /**
+     * Runs ticks on the calling thread as fast as possible and prints the tick rate.
+     * Meant for a ViewManager set up with setupHeadless.
+     * @param ticks The number of ticks to run.
+     */
+    public void runHeadless(long ticks) {
+        UpdateLoop loop = new UpdateLoop();
+        for (long i = 0; i < ticks; i++) {
+            loop.updateContent();
+        }
+        System.out.println(loop.report());
+        System.out.println(summary());
+    }
+
+    /**
+     * Runs one tick on the calling thread.  The update loop must not be running.
+     */
+    public void tick() {
+        if (tickLoop == null) {
+            tickLoop = new UpdateLoop();
+        }
+        tickLoop.updateContent();
+    }
+
+    /**
+     * Removes every SpaceEntity, clears the counts and restarts the random
+     * streams from the seed, so a new scenario can be set up.  The update loop
+     * must not be running.
+     */
+    public synchronized void reset() {
+        applyPendingChanges();
+        for (int i = 0; i < spaceItems.size(); i++) {
+            removeEntity(spaceItems.get(i));
+        }
+        applyPendingChanges();
+        spatialIndex.rebuild(spaceItems, getXSize(), getYSize(), getZSize());
+        numItems.clear();
+        mainRandom.setSeed(seed);
+        tick = 0;
+        statistics.reset();
+    }
+
     public void pause() {
         ViewManager.getInstance().pause();
     }
@@ -84,12 +247,397 @@ public class EntityManager {
     
     public void addEntity(SpaceEntity sp)
     {
-        spaceItems.add(sp);
+        TickBuffer buffer = currentBuffer.get();
+        if (buffer != null)
+        {
+            buffer.add(new DeferredSpawn(sp));
+            return;
+        }
+        spaceItems.requestAdd(sp);
+        spatialIndex.insert(sp);
     }
     
     public void removeEntity(SpaceEntity sp)
     {
-        spaceItems.remove(sp);
+        spaceItems.requestRemove(sp);
+    }
+
+    /**
+     * @return A read only view of the SpaceEntities as of the end of the last tick.
+     */
+    public List<SpaceEntity> getEntities()
+    {
+        return Collections.unmodifiableList(spaceItems);
+    }
+
+    /**
+     * Makes room for at least capacity SpaceEntities so that large scenarios do not grow the storage while running.
+     * @param capacity The number of SpaceEntities to make room for.
+     */
+    public void ensureCapacity(int capacity)
+    {
+        spaceItems.ensureCapacity(capacity);
+    }
+
+    /**
+     * Applies the adds and removes queued during the tick and updates the indexes to match.
+     */
+    private void applyPendingChanges()
+    {
+        spaceItems.applyPending(addedItems, removedItems);
+        indexChanges();
+    }
+
+    /**
+     * Updates the indexes to match the SpaceEntities that were just added to or removed from spaceItems.
+     */
+    private void indexChanges()
+    {
+        for (int i = 0; i < addedItems.size(); i++)
+        {
+            SpaceEntity sp = addedItems.get(i);
+            int index = HandleAllocator.index(sp.getHandle());
+            if (index >= handleTable.length)
+                handleTable = Arrays.copyOf(handleTable, Math.max(handleTable.length * 2, index + 1));
+            handleTable[index] = sp;
+            if (sp.isPort())
+                portIndex.add(sp);
+        }
+        for (int i = 0; i < removedItems.size(); i++)
+        {
+            SpaceEntity sp = removedItems.get(i);
+            int index = HandleAllocator.index(sp.getHandle());
+            if (handleTable[index] == sp)
+                handleTable[index] = null;
+            if (sp.isPort())
+                portIndex.remove(sp);
+            sp.release();
+        }
+        addedItems.clear();
+        removedItems.clear();
+    }
+
+    /**
+     * Restarts every random stream from seed, so a run with the same seed and
+     * the same calls to initialize repeats.  Call it before initialize.
+     * @param seed The master seed.
+     */
+    public synchronized void setSeed(long seed)
+    {
+        this.seed = seed;
+        mainRandom.setSeed(seed);
+        tick = 0;
+    }
+
+    /**
+     * @return The timings of the ticks run so far.
+     */
+    public TickStatistics getTickStatistics()
+    {
+        return statistics;
+    }
+
+    /**
+     * @param ticks How many ticks apart the TickStatistics are logged.  0 turns the logging off.
+     */
+    public void setStatisticsLogInterval(int ticks)
+    {
+        statisticsLogInterval = ticks;
+    }
+
+    /**
+     * Adds to the time spent in a query this tick.
+     * @param phase TickStatistics.RADAR or TickStatistics.DETONATION.
+     * @param nanos The time the query took.
+     */
+    private void addQueryTime(int phase, long nanos)
+    {
+        TickBuffer buffer = currentBuffer.get();
+        if (buffer != null)
+            buffer.queryNanos[phase] += nanos;
+        else
+            queryNanos[phase] += nanos;
+    }
+
+    /**
+     * @return The random stream the calling code should draw from.
+     */
+    public SimulationRandom random()
+    {
+        TickBuffer buffer = currentBuffer.get();
+        if (buffer != null)
+            return buffer.random;
+        return mainRandom;
+    }
+
+    /**
+     * Sets how many threads run the read phase of a tick.
+     * @param threads The number of threads.  1 runs the whole tick on the update thread.
+     */
+    public synchronized void setUpdateThreads(int threads)
+    {
+        if (updatePool != null)
+            updatePool.shutdown();
+        if (threads > 1)
+            updatePool = new ForkJoinPool(threads);
+        else
+            updatePool = null;
+    }
+
+    /**
+     * Switches the SpaceEntities created from now on between packed and object
+     * movement state.  Packed ships are all moved in one pass over a MovementStore
+     * each tick; GuidedMissiles and RailGunBolts steer and detonate as they move,
+     * so they still move one by one, from a MovementStore of their own.
+     * Call it before initialize or spawn.
+     * @param packed True to keep movement state in MovementStores.
+     */
+    public synchronized void setPackedMovement(boolean packed)
+    {
+        if (shipStore != null)
+            shipStore.setSteppedInBulk(false);
+        MovableImplFactory.setPackedStorage(packed);
+        shipStore = MovableImplFactory.getPackedStore();
+        if (shipStore != null)
+            shipStore.setSteppedInBulk(true);
+    }
+
+    /**
+     * Sets how many ticks a second the UpdateLoop runs when there is a display.
+     * SpaceEntities move a set distance each tick, so this is also how fast the
+     * simulation runs.  The view draws in between ticks, so a lower rate saves
+     * work without the picture stuttering.
+     * @param ticksPerSecond The tick rate.  Rates below 1 are taken as 1.
+     */
+    public void setTickRate(int ticksPerSecond)
+    {
+        updateDelay = 1000 / Math.max(1, ticksPerSecond);
+    }
+
+    /**
+     * Sizes the per-tick state for size SpaceEntities.
+     * @return The number of chunks.
+     */
+    private int prepareChunks(int size)
+    {
+        if (destroyedAtStart.length < size)
+            destroyedAtStart = new boolean[Math.max(size, destroyedAtStart.length * 2)];
+        int numChunks = (size + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        while (tickBuffers.size() < numChunks)
+            tickBuffers.add(new TickBuffer());
+        return numChunks;
+    }
+
+    private void runPass(int pass, int numChunks)
+    {
+        ForkJoinPool pool = updatePool;
+        if (pool == null)
+        {
+            for (int c = 0; c < numChunks; c++)
+                processChunk(pass, c);
+        }
+        else
+        {
+            pool.invoke(new UpdateTask(pass, 0, numChunks));
+        }
+    }
+
+    /**
+     * Runs one pass of the read phase over one chunk.  Anything that would change
+     * another SpaceEntity is recorded in the chunk's TickBuffer instead.
+     */
+    private void processChunk(int pass, int chunk)
+    {
+        int from = chunk * CHUNK_SIZE;
+        int to = Math.min(from + CHUNK_SIZE, spaceItems.size());
+        TickBuffer buffer = tickBuffers.get(chunk);
+        buffer.random.setSeed(SimulationRandom.mix(SimulationRandom.mix(seed + tick) + 2 * chunk + pass));
+        currentBuffer.set(buffer);
+        try
+        {
+            for (int k = 0; k < KINDS.length; k++)
+            {
+                int lo = Math.max(from, spaceItems.bucketStart(KINDS[k]));
+                int hi = Math.min(to, spaceItems.bucketEnd(KINDS[k]));
+                if (lo < hi)
+                    processBucket(pass, KINDS[k], lo, hi);
+            }
+        }
+        finally
+        {
+            currentBuffer.remove();
+        }
+    }
+
+    /**
+     * Runs one pass over slots from to to, which all hold SpaceEntities of kind.
+     * Casting to the concrete class gives every kind its own call sites, each of
+     * which only ever sees one class, so the JIT can inline move and update.
+     */
+    private void processBucket(int pass, EntityKind kind, int from, int to)
+    {
+        if (pass == MOVE_PASS)
+        {
+            try
+            {
+                moveBucket(kind, from, to);
+            }
+            // Only a negative time interval is refused, and every SpaceEntity moves 1.
+            catch(InvalidIntegerException e)
+            {
+                System.out.println(e);
+            }
+        }
+        else
+        {
+            updateBucket(kind, from, to);
+        }
+    }
+
+    private void moveBucket(EntityKind kind, int from, int to) throws InvalidIntegerException
+    {
+        switch (kind)
+        {
+            case CARGO_SHIP:
+                for (int i = from; i < to; i++)
+                {
+                    CargoShip sp = (CargoShip) spaceItems.get(i);
+                    if (startMove(i, sp))
+                    {
+                        sp.move(1);
+                        endMove(sp);
+                    }
+                }
+                break;
+            case FIGHTER_SHIP:
+                for (int i = from; i < to; i++)
+                {
+                    FighterShip sp = (FighterShip) spaceItems.get(i);
+                    if (startMove(i, sp))
+                    {
+                        sp.move(1);
+                        endMove(sp);
+                    }
+                }
+                break;
+            case SPACE_PORT:
+                for (int i = from; i < to; i++)
+                {
+                    SpacePort sp = (SpacePort) spaceItems.get(i);
+                    if (startMove(i, sp))
+                    {
+                        sp.move(1);
+                        endMove(sp);
+                    }
+                }
+                break;
+            case GUIDED_MISSILE:
+                for (int i = from; i < to; i++)
+                {
+                    GuidedMissile sp = (GuidedMissile) spaceItems.get(i);
+                    if (startMove(i, sp))
+                    {
+                        sp.move(1);
+                        endMove(sp);
+                    }
+                }
+                break;
+            case RAIL_GUN_BOLT:
+                for (int i = from; i < to; i++)
+                {
+                    RailGunBolt sp = (RailGunBolt) spaceItems.get(i);
+                    if (startMove(i, sp))
+                    {
+                        sp.move(1);
+                        endMove(sp);
+                    }
+                }
+                break;
+            default:
+                for (int i = from; i < to; i++)
+                {
+                    DebrisCloud sp = (DebrisCloud) spaceItems.get(i);
+                    if (startMove(i, sp))
+                    {
+                        sp.move(1);
+                        endMove(sp);
+                    }
+                }
+                break;
+        }
+    }
+
+    private void updateBucket(EntityKind kind, int from, int to)
+    {
+        switch (kind)
+        {
+            case CARGO_SHIP:
+                for (int i = from; i < to; i++)
+                    if (!destroyedAtStart[i])
+                        ((CargoShip) spaceItems.get(i)).update();
+                break;
+            case FIGHTER_SHIP:
+                for (int i = from; i < to; i++)
+                    if (!destroyedAtStart[i])
+                        ((FighterShip) spaceItems.get(i)).update();
+                break;
+            case SPACE_PORT:
+                for (int i = from; i < to; i++)
+                    if (!destroyedAtStart[i])
+                        ((SpacePort) spaceItems.get(i)).update();
+                break;
+            case GUIDED_MISSILE:
+                for (int i = from; i < to; i++)
+                    if (!destroyedAtStart[i])
+                        ((GuidedMissile) spaceItems.get(i)).update();
+                break;
+            case RAIL_GUN_BOLT:
+                for (int i = from; i < to; i++)
+                    if (!destroyedAtStart[i])
+                        ((RailGunBolt) spaceItems.get(i)).update();
+                break;
+            default:
+                for (int i = from; i < to; i++)
+                    if (!destroyedAtStart[i])
+                        ((DebrisCloud) spaceItems.get(i)).update();
+                break;
+        }
+    }
+
+    /**
+     * Records whether the SpaceEntity in slot i was destroyed before the tick,
+     * in which case it neither moves nor updates and is removed at the end of the tick.
+     * @return True if sp is to move.
+     */
+    private boolean startMove(int i, SpaceEntity sp)
+    {
+        destroyedAtStart[i] = sp.isDestroyed();
+        return !destroyedAtStart[i];
+    }
+
+    /**
+     * Picks a new destination for sp if it has just arrived.
+     */
+    private void endMove(SpaceEntity sp)
+    {
+        if (sp.atDestination())
+            sp.setDestination();
+    }
+
+    /**
+     * @param sp A SpaceEntity.
+     * @return Where other SpaceEntities see sp.  During the read phase that is
+     * the location sp had at the start of the tick.
+     */
+    private Point3D locationOf(SpaceEntity sp)
+    {
+        if (readPhase)
+        {
+            Point3D p = spaceItems.getFrozenLocation(sp);
+            if (p != null)
+                return p;
+        }
+        return sp.getLocation();
     }
 
     public String summary() 
@@ -110,6 +658,7 @@ public class EntityManager {
     {
         String cs = side + " Ships";
         String sc = side + " Ports";
+        ensureCapacity(spaceItems.size() + numCargoShips + numSpacePorts + numFighterShips);
         if (!numItems.containsKey(cs))
         {
             numItems.put(cs, numCargoShips+numFighterShips);
@@ -136,7 +685,7 @@ public class EntityManager {
             try 
             {
                 sp = CargoShipFactory.build(side, 4, cargoShipSpeed, 1000.0, numCloudsPerShip);
-                spaceItems.add(sp);
+                addEntity(sp);
             } 
             catch (InvalidDoubleException ex) 
             {
@@ -162,7 +711,7 @@ public class EntityManager {
         {
             try {
                 fighterShip = FighterShipFactory.build(side, 0.0, fighterShipSpeed, 1000.0, missiles);
-                spaceItems.add(fighterShip);
+                addEntity(fighterShip);
             } catch (InvalidDoubleException ex) {
                 System.out.println(ex);
             } catch (InvalidIntegerException ex) {
@@ -181,7 +730,7 @@ public class EntityManager {
             try 
             {
                 spacePort = SpacePortFactory.build(side, 0.0, spacePortSpeed, false, false, 2500.0);
-                spaceItems.add(spacePort);
+                addEntity(spacePort);
             } 
             catch (InvalidDoubleException ex) 
             {
@@ -198,11 +747,76 @@ public class EntityManager {
         }
     }
 
+    /**
+     * Adds every SpaceEntity of a Scenario in one step.  The storage is sized for
+     * the whole Scenario up front, and the SpaceEntities are built in chunks of
+     * CHUNK_SIZE, on the update threads when there are several.  Each chunk draws
+     * from its own random stream, so the result does not depend on the number of
+     * threads.  Nothing is visible until every SpaceEntity has been built, and
+     * then they are all stored and indexed together.  Call it between ticks.
+     * @param scenario The SpaceEntities to add.
+     */
+    public synchronized void spawn(Scenario scenario)
+    {
+        int total = scenario.size();
+        ensureCapacity(spaceItems.size() + total);
+        SpaceEntity[] built = new SpaceEntity[total];
+        long spawnSeed = mainRandom.nextLong();
+        int numChunks = (total + CHUNK_SIZE - 1) / CHUNK_SIZE;
+
+        ForkJoinPool pool = updatePool;
+        if (pool == null || numChunks <= 1)
+        {
+            for (int c = 0; c < numChunks; c++)
+                buildChunk(scenario, built, spawnSeed, c);
+        }
+        else
+        {
+            pool.invoke(new SpawnTask(scenario, built, spawnSeed, 0, numChunks));
+        }
+
+        spaceItems.addAll(built, addedItems);
+        indexChanges();
+        spatialIndex.rebuild(spaceItems, getXSize(), getYSize(), getZSize());
+
+        for (int k = 0; k < scenario.numSides(); k++)
+        {
+            String side = scenario.getFaction(k).getName();
+            addToCount(side + " Ships", scenario.getNumShips(k));
+            addToCount(side + " Ports", scenario.getNumSpacePorts(k));
+        }
+    }
+
+    private void buildChunk(Scenario scenario, SpaceEntity[] built, long spawnSeed, int chunk)
+    {
+        TickBuffer buffer = new TickBuffer();
+        buffer.random.setSeed(SimulationRandom.mix(spawnSeed + chunk));
+        currentBuffer.set(buffer);
+        try
+        {
+            int to = Math.min(built.length, (chunk + 1) * CHUNK_SIZE);
+            for (int i = chunk * CHUNK_SIZE; i < to; i++)
+                built[i] = scenario.build(i);
+        }
+        finally
+        {
+            currentBuffer.remove();
+        }
+    }
+
+    private void addToCount(String key, int n)
+    {
+        Integer cur = numItems.get(key);
+        numItems.put(key, cur == null ? n : cur + n);
+    }
+
     private class UpdateLoop implements Runnable {
 
         private boolean isRunning = true;
         private long cycleTime;
-        private static final int UPDATE_DELAY = 20; // 500 ms
+        private long ticksRun;
+        private long startTime = System.nanoTime();
+        private final long[] phaseNanos = new long[TickStatistics.numPhases()];
 
         public void setRunning(boolean value) {
             isRunning = value;
@@ -217,25 +831,74 @@ public class EntityManager {
                     updateContent();
                 }
 
-                synchUpdateRate();
+                // Without a display there is no frame rate to keep up with.
+                if (!ViewManager.isHeadless()) {
+                    synchUpdateRate();
+                }
 
                 if (ViewManager.getInstance().isStopped()) {
                     isRunning = false;
                 }
             }
 
+            if (ViewManager.isHeadless()) {
+                System.out.println(report());
+            }
+        }
+
+        /**
+         * @return The number of ticks run, the wall time they took and the tick rate.
+         */
+        public String report() {
+            double seconds = (System.nanoTime() - startTime) / 1e9;
+            return String.format("%d ticks in %.3f s (%.1f ticks/s)", ticksRun, seconds, ticksRun / seconds);
         }
 
         private void updateContent() 
         {
-                Iterator<SpaceEntity> itr = spaceItems.iterator();
+                long tickStart = System.nanoTime();
+                long t = tickStart;
+                tick++;
+                ticksRun++;
+                publishing = !ViewManager.isHeadless() || ViewManager.isCapturing();
+                spatialIndex.rebuild(spaceItems, getXSize(), getYSize(), getZSize());
+                portIndex.refresh();
+                t = lap(TickStatistics.REBUILD, t);
 
-                if (!spaceItems.isEmpty())
+                int size = spaceItems.size();
+                int numChunks = 0;
+                if (size > 0)
                 {
-                    while(itr.hasNext())
+                    spaceItems.freezeLocations();
+                    numChunks = prepareChunks(size);
+
+                    // Read phase: every SpaceEntity moves and senses against the frozen locations.
+                    readPhase = true;
+                    try
                     {
-                        SpaceEntity sp = itr.next();
-                        if (sp.isDestroyed())
+                        // Packed ships only move; their arrivals are handled in the move pass, in order.
+                        MovementStore ships = shipStore;
+                        if (ships != null)
+                            ships.stepAll(1);
+                        runPass(MOVE_PASS, numChunks);
+                        t = lap(TickStatistics.MOVE, t);
+                        runPass(UPDATE_PASS, numChunks);
+                        t = lap(TickStatistics.UPDATE, t);
+                    }
+                    finally
+                    {
+                        readPhase = false;
+                    }
+
+                    // Commit phase: the deferred actions are applied in chunk order.
+                    for (int c = 0; c < numChunks; c++)
+                        tickBuffers.get(c).applyAll();
+                    t = lap(TickStatistics.COMMIT, t);
+
+                    for (int i = 0; i < size; i++)
+                    {
+                        SpaceEntity sp = spaceItems.get(i);
+                        if (destroyedAtStart[i])
                         {
                             if (sp.isShip())
                             {
@@ -251,39 +914,71 @@ public class EntityManager {
                             }
                         
                             removeEntity(sp);
-                            ViewManager.getInstance().updateItem(sp.makeConsoleItem());
-                            //Perform destroyed behavior
+                            if (publishing)
+                                removedHandles.add(sp.getHandle());
                         }
-                        else
+                        //update status info on the view frame for the SpaceEntities that changed
+                        else if (publishing && spaceItems.checkPublished(i, MIN_PUBLISH_MOVE, MIN_PUBLISH_TURN))
                         {
-                            try
-                            {
-                                sp.move(1);
-                                ViewManager.getInstance().updateItem(sp.makeConsoleItem());
-                            }
-                            catch(InvalidIntegerException e)
-                            {
-                                System.out.println(e);
-                            }
-                        
-                            if(sp.atDestination())
-                            {
-                                sp.setDestination();
-                            }
-                            sp.update();
-                            sp.updateInfoText();
+                            changedItems.add(sp.makeConsoleItem());
                         }
-                        //update status info on the view frame
                     }
+                    if (publishing && (!changedItems.isEmpty() || !removedHandles.isEmpty()))
+                        ViewManager.getInstance().publish(changedItems, removedHandles, tick, updateDelay * 1000000L);
+                    changedItems.clear();
+                    removedHandles.clear();
+                    t = lap(TickStatistics.PUBLISH, t);
                 }
 
-                ViewManager.getInstance().updateInfo(summary());
+                applyPendingChanges();
+                t = lap(TickStatistics.COMMIT, t);
+
+                if (publishing)
+                    ViewManager.getInstance().updateInfo(summary());
+                t = lap(TickStatistics.SUMMARY, t);
+
+                collectQueryTimes(numChunks);
+                long tickNanos = t - tickStart;
+                boolean overrun = !ViewManager.isHeadless() && tickNanos > updateDelay * 1000000L;
+                statistics.recordTick(phaseNanos, tickNanos, overrun);
+                for (int i = 0; i < phaseNanos.length; i++)
+                    phaseNanos[i] = 0;
+
+                int interval = statisticsLogInterval;
+                if (interval > 0 && tick % interval == 0)
+                    LOGGER.log(Level.INFO, "Tick statistics:\n{0}", statistics.report());
+        }
+
+        /**
+         * Adds the time since start to phase.
+         * @return The current time.
+         */
+        private long lap(int phase, long start) {
+            long now = System.nanoTime();
+            phaseNanos[phase] += now - start;
+            return now;
+        }
+
+        private void collectQueryTimes(int numChunks) {
+            for (int c = 0; c < numChunks; c++) {
+                long[] q = tickBuffers.get(c).queryNanos;
+                phaseNanos[TickStatistics.RADAR] += q[TickStatistics.RADAR];
+                phaseNanos[TickStatistics.DETONATION] += q[TickStatistics.DETONATION];
+                q[TickStatistics.RADAR] = 0;
+                q[TickStatistics.DETONATION] = 0;
+            }
+            phaseNanos[TickStatistics.RADAR] += queryNanos[TickStatistics.RADAR];
+            phaseNanos[TickStatistics.DETONATION] += queryNanos[TickStatistics.DETONATION];
+            queryNanos[TickStatistics.RADAR] = 0;
+            queryNanos[TickStatistics.DETONATION] = 0;
         }
 
         private void synchUpdateRate() {
 
-            cycleTime = cycleTime + UPDATE_DELAY;
+            cycleTime = cycleTime + updateDelay;
             long difference = cycleTime - System.currentTimeMillis();
+            // A negative difference means the loop is behind and the next tick starts late.
+            statistics.recordLag(Math.max(0, -difference));
             try {
                 Thread.sleep(Math.max(0, difference));
             } catch (InterruptedException e) {
@@ -292,94 +987,123 @@ public class EntityManager {
         }
     }
     
-    public Point3D getLocationById(String id)
+    public Point3D getLocationByHandle(int handle)
     {
-            Iterator<SpaceEntity> itr = spaceItems.listIterator();
-            while (itr.hasNext())
-            {
-                SpaceEntity sp = itr.next();
-                if (sp.getId().equalsIgnoreCase(id))
-                    return sp.getLocation();
-            }
-            return null;     
+            SpaceEntity sp = getEntityByHandle(handle);
+            if (sp == null)
+                return null;
+            return locationOf(sp);
     }
     
-    public String getNearestSpacePort(Point3D p)
+    /**
+     * @param handle The handle of a SpaceEntity.
+     * @return The live SpaceEntity with that handle, or null if it is gone.
+     */
+    public SpaceEntity getEntityByHandle(int handle)
     {
-            String result = null;
-            double curSmalDis = Double.MAX_VALUE;
-            Iterator<SpaceEntity> itr = spaceItems.listIterator();
-            while (itr.hasNext())
-            {
-                SpaceEntity sp = itr.next();
-                if (sp.isPort())
-                {
-                    if (sp.getLocation().distance(p) < curSmalDis)
-                    {
-                        curSmalDis = sp.getLocation().distance(p);
-                        result = sp.getId();
-                    }
-                }
-            }
-        
-            return result; 
+            int index = HandleAllocator.index(handle);
+            SpaceEntity[] table = handleTable;
+            if (index >= table.length)
+                return null;
+            SpaceEntity sp = table[index];
+            if (sp == null || sp.getHandle() != handle)
+                return null;
+            return sp;
+    }
+    
+    /**
+     * @param p The point to search from.
+     * @return The handle of the nearest SpacePort of any side, or HandleAllocator.NONE if there are none.
+     */
+    public int getNearestSpacePort(Point3D p)
+    {
+            SpaceEntity port = findNearestSpacePort(p);
+            if (port == null)
+                return HandleAllocator.NONE;
+            return port.getHandle();
+    }
+    
+    /**
+     * @param p The point to search from.
+     * @return The nearest SpacePort of any side, or null if there are none.
+     */
+    public SpaceEntity findNearestSpacePort(Point3D p)
+    {
+            return portIndex.nearest(p);
+    }
+    
+    /**
+     * @param p The point to search from.
+     * @param side The side of the SpacePort.
+     * @return The handle of the nearest SpacePort on side, or HandleAllocator.NONE if side has none.
+     */
+    public int getNearestSpacePort(Point3D p, Faction side)
+    {
+            SpaceEntity port = portIndex.nearest(p, side);
+            if (port == null)
+                return HandleAllocator.NONE;
+            return port.getHandle();
     }
     
     public Point3D createRandomPoint()
     {
-        double x = Math.random()*EntityManager.getInstance().getXSize();
-        double y = Math.random()*EntityManager.getInstance().getYSize();
-        double z = Math.random()*EntityManager.getInstance().getZSize();
+        SimulationRandom random = random();
+        double x = random.nextDouble()*EntityManager.getInstance().getXSize();
+        double y = random.nextDouble()*EntityManager.getInstance().getYSize();
+        double z = random.nextDouble()*EntityManager.getInstance().getZSize();
         return new Point3D(x,y,z);
     }
     
     public String formatLocation(Point3D point) 
     {
-        String result = "[" + String.format("%.2f", point.getX()) + ", " 
-                            + String.format("%.2f", point.getY()) + ", " 
-                            + String.format("%.2f", point.getZ()) + "]";
-        return result;
+        return String.format("[%.2f, %.2f, %.2f]", point.getX(), point.getY(), point.getZ());
     }
     
-    public ArrayList<String> performRadarSweep(Point3D loc, Color side)
+    public ArrayList<Integer> performRadarSweep(Point3D loc, Faction side)
     {     
-            ArrayList<String> targets = new ArrayList<String>();
-            Iterator<SpaceEntity> itr = spaceItems.iterator();
+            long start = System.nanoTime();
+            ArrayList<Integer> targets = new ArrayList<Integer>();
+            ArrayList<SpaceEntity> nearby = new ArrayList<SpaceEntity>();
+            spatialIndex.query(loc, RADAR_RANGE, RADAR_KINDS, nearby);
+            Iterator<SpaceEntity> itr = nearby.iterator();
             while(itr.hasNext())
             {
                 SpaceEntity sp = itr.next();
-                if (sp.isTargetable() && !sp.getEntityType().equalsIgnoreCase("Guided Missile") && !sp.getEntityType().equalsIgnoreCase("Defensive Debris Cloud"))
+                if ((sp.getCapabilities() & EntityKind.RADAR_VISIBLE) != 0)
                 {
-                    double dist = sp.getLocation().distance(loc);
-                    if (dist <= 150.0 && dist != 0.0)
+                    double dist = locationOf(sp).distance(loc);
+                    if (dist <= RADAR_RANGE && dist != 0.0)
                     {
-                        double rand = Math.random();               
-                        if (rand > 0.99 && sp.getColor().equals(side))
+                        double rand = random().nextDouble();               
+                        if (rand > 0.99 && sp.getFaction() == side)
                         {
-                            targets.add(sp.getId());
+                            targets.add(sp.getHandle());
                         }
                         
-                        if (sp.getColor().equals(side) == false)
+                        if (sp.getFaction() != side)
                         {
-                            targets.add(sp.getId());
+                            targets.add(sp.getHandle());
                         }
                     }
                 }
             }
+            addQueryTime(TickStatistics.RADAR, System.nanoTime() - start);
             return targets;
     }
     
-        public ArrayList<SpaceEntity> findDockedShips(Point3D loc, Color side)
+        public ArrayList<SpaceEntity> findDockedShips(Point3D loc, Faction side)
     {     
             ArrayList<SpaceEntity> targets = new ArrayList<SpaceEntity>();
-            Iterator<SpaceEntity> itr = spaceItems.iterator();
+            ArrayList<SpaceEntity> nearby = new ArrayList<SpaceEntity>();
+            spatialIndex.query(loc, DOCKING_RANGE, DOCKING_KINDS, nearby);
+            Iterator<SpaceEntity> itr = nearby.iterator();
             while(itr.hasNext())
             {
                 SpaceEntity sp = itr.next();
-                if (sp.getEntityType().equalsIgnoreCase("Cargo Ship"))
+                if (sp.getKind() == EntityKind.CARGO_SHIP)
                 {
-                    double dist = sp.getLocation().distance(loc);
-                    if (dist <= 5.0 && sp.getColor().equals(side))
+                    double dist = locationOf(sp).distance(loc);
+                    if (dist <= DOCKING_RANGE && sp.getFaction() == side)
                     {
                         targets.add(sp);
                     }
@@ -388,72 +1112,235 @@ public class EntityManager {
             return targets;
     }
     
-    public  void radarLock(String id, Point3D loc)
+    public  void radarLock(int handle, Point3D loc)
     {
-            Iterator<SpaceEntity> itr = spaceItems.iterator();
-            while(itr.hasNext())
+            TickBuffer buffer = currentBuffer.get();
+            if (buffer != null)
             {
-                SpaceEntity sp = itr.next();
-                if (sp.getId().equalsIgnoreCase(id))
-                    sp.reactToRadarLock(loc);
+                buffer.add(new DeferredRadarLock(handle, loc));
+                return;
             }
-        
+            SpaceEntity sp = getEntityByHandle(handle);
+            if (sp != null)
+                sp.reactToRadarLock(loc);
     }
     
-    public void processDetonation(String id, double detRange, double damage)
+    public void processDetonation(int handle, double detRange, double damage)
     {
-        Point3D loc = getLocationById(id);
+        TickBuffer buffer = currentBuffer.get();
+        if (buffer != null)
+        {
+            buffer.add(new DeferredDetonation(handle, detRange, damage));
+            return;
+        }
+        long start = System.nanoTime();
+        Point3D loc = getLocationByHandle(handle);
         if (loc != null)
         {
-            Iterator<SpaceEntity> itr = spaceItems.iterator();
+            ArrayList<SpaceEntity> nearby = new ArrayList<SpaceEntity>();
+            spatialIndex.query(loc, detRange, nearby);
+            SimulationRandom random = random();
+            Iterator<SpaceEntity> itr = nearby.iterator();
             while(itr.hasNext())
             {
                 SpaceEntity sp = itr.next();
                 double dis = sp.getLocation().distance(loc);
                 if (dis <= detRange)
                 {
-                    double d = Math.random()*damage;
+                    double d = random.nextDouble()*damage;
                     sp.applyDamage(d);
                 }
             }
         }
+        addQueryTime(TickStatistics.DETONATION, System.nanoTime() - start);
     }
     
-    public String reaquireRadarLock(Point3D loc, String id, Color side)
+    public int reaquireRadarLock(Point3D loc, int handle, Faction side)
     {
-        double rand = Math.random();
+        double rand = random().nextDouble();
         if (rand <= 0.99)
-            return id;
+            return handle;
         else
         {
-            ArrayList<String> targets = performRadarSweep(loc, side);
-            Iterator<SpaceEntity> itr = spaceItems.iterator();
+            ArrayList<Integer> targets = performRadarSweep(loc, side);
+            long start = System.nanoTime();
+            ArrayList<SpaceEntity> nearby = new ArrayList<SpaceEntity>();
+            spatialIndex.query(loc, RADAR_RANGE, LOCK_KINDS, nearby);
+            Iterator<SpaceEntity> itr = nearby.iterator();
             while(itr.hasNext())
             {
                 SpaceEntity sp = itr.next();
-                if (sp.isTargetable() && !sp.getEntityType().equalsIgnoreCase("Guided Missile"))
+                if ((sp.getCapabilities() & (EntityKind.RADAR_VISIBLE | EntityKind.DECOY)) != 0)
                 {
-                    double dist = sp.getLocation().distance(loc);
-                    if (dist <= 150.0 && dist != 0.0)
+                    double dist = locationOf(sp).distance(loc);
+                    if (dist <= RADAR_RANGE && dist != 0.0)
                     {
-                        double random = Math.random();               
-                        if (random > 0.99 && sp.getColor().equals(side))
+                        double random = random().nextDouble();               
+                        if (random > 0.99 && sp.getFaction() == side)
                         {
-                            targets.add(sp.getId());
+                            targets.add(sp.getHandle());
                         }
                         
-                        if (sp.getColor().equals(side) == false)
+                        if (sp.getFaction() != side)
                         {
-                            targets.add(sp.getId());
+                            targets.add(sp.getHandle());
                         }
                     }
                 }
             }
             
+            addQueryTime(TickStatistics.RADAR, System.nanoTime() - start);
             if (targets.isEmpty())
-                return null;
+                return HandleAllocator.NONE;
             else
                 return targets.get(0);
         }
     }
+
+    /**
+     * A change to another SpaceEntity requested during the read phase of a tick.
+     */
+    private interface DeferredAction
+    {
+        void apply();
+    }
+
+    private class DeferredSpawn implements DeferredAction
+    {
+        private final SpaceEntity sp;
+
+        DeferredSpawn(SpaceEntity sp)
+        {
+            this.sp = sp;
+        }
+
+        public void apply()
+        {
+            addEntity(sp);
+        }
+    }
+
+    private class DeferredRadarLock implements DeferredAction
+    {
+        private final int handle;
+        private final Point3D loc;
+
+        DeferredRadarLock(int handle, Point3D loc)
+        {
+            this.handle = handle;
+            this.loc = loc;
+        }
+
+        public void apply()
+        {
+            radarLock(handle, loc);
+        }
+    }
+
+    private class DeferredDetonation implements DeferredAction
+    {
+        private final int handle;
+        private final double detRange;
+        private final double damage;
+
+        DeferredDetonation(int handle, double detRange, double damage)
+        {
+            this.handle = handle;
+            this.detRange = detRange;
+            this.damage = damage;
+        }
+
+        public void apply()
+        {
+            processDetonation(handle, detRange, damage);
+        }
+    }
+
+    /**
+     * The DeferredActions recorded by one chunk during the read phase, in the order they were requested.
+     */
+    private static class TickBuffer
+    {
+        private final ArrayList<DeferredAction> actions = new ArrayList<DeferredAction>();
+        private final SimulationRandom random = new SimulationRandom(0L);
+        private final long[] queryNanos = new long[TickStatistics.numPhases()];
+
+        void add(DeferredAction action)
+        {
+            actions.add(action);
+        }
+
+        void applyAll()
+        {
+            for (int i = 0; i < actions.size(); i++)
+                actions.get(i).apply();
+            actions.clear();
+        }
+    }
+
+    /**
+     * Splits building the chunks [lo, hi) of a Scenario across the ForkJoinPool.
+     */
+    private class SpawnTask extends RecursiveAction
+    {
+        private final Scenario scenario;
+        private final SpaceEntity[] built;
+        private final long spawnSeed;
+        private final int lo;
+        private final int hi;
+
+        SpawnTask(Scenario scenario, SpaceEntity[] built, long spawnSeed, int lo, int hi)
+        {
+            this.scenario = scenario;
+            this.built = built;
+            this.spawnSeed = spawnSeed;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        protected void compute()
+        {
+            if (hi - lo <= 1)
+            {
+                if (hi > lo)
+                    buildChunk(scenario, built, spawnSeed, lo);
+            }
+            else
+            {
+                int mid = (lo + hi) >>> 1;
+                invokeAll(new SpawnTask(scenario, built, spawnSeed, lo, mid), new SpawnTask(scenario, built, spawnSeed, mid, hi));
+            }
+        }
+    }
+
+    /**
+     * Splits a pass over the chunks [lo, hi) across the ForkJoinPool.
+     */
+    private class UpdateTask extends RecursiveAction
+    {
+        private final int pass;
+        private final int lo;
+        private final int hi;
+
+        UpdateTask(int pass, int lo, int hi)
+        {
+            this.pass = pass;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        protected void compute()
+        {
+            if (hi - lo <= 1)
+            {
+                if (hi > lo)
+                    processChunk(pass, lo);
+            }
+            else
+            {
+                int mid = (lo + hi) >>> 1;
+                invokeAll(new UpdateTask(pass, lo, mid), new UpdateTask(pass, mid, hi));
+            }
+        }
+    }
 }
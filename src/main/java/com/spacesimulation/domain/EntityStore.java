@@ -0,0 +1,417 @@
+package com.spacesimulation.domain;
+
+import com.spacesimulation.utils.HandleAllocator;
+import com.spacesimulation.utils.Point3D;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * A class that stores the live SpaceEntities in a dense array.
+ * Adds and removes are buffered and applied in one pass by applyPending(), so the
+ * contents stay the same while a tick iterates over them.
+ * The array is split into one bucket per EntityKind, in EntityKind order, so all
+ * SpaceEntities of a kind are next to each other.  An add or remove moves at most
+ * one SpaceEntity per bucket to keep the buckets packed, so the order of the
+ * SpaceEntities within a bucket is not kept.
+ * @author Steven Muschler
+ */
+
+public class EntityStore extends AbstractList<SpaceEntity> implements RandomAccess
+{
+    private static final EntityKind[] KINDS = EntityKind.values();
+
+    private SpaceEntity[] items;
+    private int size;
+
+    /**
+     * The SpaceEntities of kind k are in items[bucketStart[k]] to items[bucketStart[k + 1] - 1].
+     * bucketStart[KINDS.length] is size.
+     */
+    private final int[] bucketStart = new int[KINDS.length + 1];
+
+    /**
+     * frozen holds the location every SpaceEntity had when freezeLocations() was last called.
+     */
+    private Point3D[] frozen;
+
+    /**
+     * The state each SpaceEntity had when it was last published to the view.
+     * published[i] is false until the SpaceEntity in slot i has been published once.
+     */
+    private double[] pubX;
+    private double[] pubY;
+    private double[] pubZ;
+    private double[] pubAngle;
+    private boolean[] pubDamaged;
+    private boolean[] pubDestroyed;
+    private boolean[] published;
+
+    /**
+     * slots holds, at the index of each stored SpaceEntity's handle, one more than
+     * its index in items.  0 means no SpaceEntity with that handle index is stored.
+     */
+    private int[] slots = new int[64];
+    private static final int CLAIMED = -1;
+
+    private ArrayList<SpaceEntity> pendingAdds = new ArrayList<SpaceEntity>();
+    private ArrayList<SpaceEntity> pendingRemoves = new ArrayList<SpaceEntity>();
+    private ArrayList<SpaceEntity> spareAdds = new ArrayList<SpaceEntity>();
+    private ArrayList<SpaceEntity> spareRemoves = new ArrayList<SpaceEntity>();
+
+    /**
+     * EntityStore's Constructor.
+     * @param initialCapacity The number of SpaceEntities to make room for.
+     */
+    public EntityStore(int initialCapacity)
+    {
+        items = new SpaceEntity[Math.max(1, initialCapacity)];
+        frozen = new Point3D[items.length];
+        pubX = new double[items.length];
+        pubY = new double[items.length];
+        pubZ = new double[items.length];
+        pubAngle = new double[items.length];
+        pubDamaged = new boolean[items.length];
+        pubDestroyed = new boolean[items.length];
+        published = new boolean[items.length];
+    }
+
+    /**
+     * @param index The slot to read.
+     * @return The SpaceEntity stored in the slot.
+     */
+    public SpaceEntity get(int index)
+    {
+        if (index >= size)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        return items[index];
+    }
+
+    /**
+     * @return The number of stored SpaceEntities, not counting pending adds.
+     */
+    public int size()
+    {
+        return size;
+    }
+
+    /**
+     * @param kind An EntityKind.
+     * @return The first slot of kind's bucket.
+     */
+    public int bucketStart(EntityKind kind)
+    {
+        return bucketStart[kind.ordinal()];
+    }
+
+    /**
+     * @param kind An EntityKind.
+     * @return The slot after the last one of kind's bucket.
+     */
+    public int bucketEnd(EntityKind kind)
+    {
+        return bucketStart[kind.ordinal() + 1];
+    }
+
+    /**
+     * @param kind An EntityKind.
+     * @return A view of the SpaceEntities of kind.  It is only valid until the next applyPending().
+     */
+    public List<SpaceEntity> bucket(EntityKind kind)
+    {
+        return subList(bucketStart(kind), bucketEnd(kind));
+    }
+
+    /**
+     * Makes room for at least capacity SpaceEntities.
+     * @param capacity The number of SpaceEntities to make room for.
+     */
+    public synchronized void ensureCapacity(int capacity)
+    {
+        if (capacity > items.length)
+        {
+            int grown = Math.max(capacity, items.length * 2);
+            items = Arrays.copyOf(items, grown);
+            frozen = Arrays.copyOf(frozen, grown);
+            pubX = Arrays.copyOf(pubX, grown);
+            pubY = Arrays.copyOf(pubY, grown);
+            pubZ = Arrays.copyOf(pubZ, grown);
+            pubAngle = Arrays.copyOf(pubAngle, grown);
+            pubDamaged = Arrays.copyOf(pubDamaged, grown);
+            pubDestroyed = Arrays.copyOf(pubDestroyed, grown);
+            published = Arrays.copyOf(published, grown);
+        }
+    }
+
+    /**
+     * Records the current location of every stored SpaceEntity.  Point3Ds are
+     * replaced rather than changed when a SpaceEntity moves, so keeping the
+     * references is enough to keep the old locations.
+     */
+    public void freezeLocations()
+    {
+        for (int i = 0; i < size; i++)
+            frozen[i] = items[i].getLocation();
+    }
+
+    /**
+     * @param sp A SpaceEntity.
+     * @return The location sp had at the last freezeLocations(), or null if sp was not stored then.
+     */
+    public Point3D getFrozenLocation(SpaceEntity sp)
+    {
+        int slot = slotOf(sp);
+        if (slot < 0)
+            return null;
+        return frozen[slot];
+    }
+
+    /**
+     * Compares the SpaceEntity in a slot with the state it was last published
+     * with, and records its current state if it has changed enough to be published again.
+     * @param index The slot to check.
+     * @param minMove How far the SpaceEntity has to move to count as changed.
+     * @param minTurn How far the SpaceEntity has to turn to count as changed.
+     * @return True if the SpaceEntity has never been published or has changed since, otherwise false.
+     */
+    public boolean checkPublished(int index, double minMove, double minTurn)
+    {
+        SpaceEntity sp = get(index);
+        Point3D p = sp.getLocation();
+        double angle = sp.getAngle();
+        boolean damaged = sp.isDamaged();
+        boolean destroyed = sp.isDestroyed();
+
+        if (published[index]
+            && Math.abs(p.getX() - pubX[index]) < minMove
+            && Math.abs(p.getY() - pubY[index]) < minMove
+            && Math.abs(p.getZ() - pubZ[index]) < minMove
+            && Math.abs(angle - pubAngle[index]) < minTurn
+            && damaged == pubDamaged[index]
+            && destroyed == pubDestroyed[index])
+            return false;
+
+        pubX[index] = p.getX();
+        pubY[index] = p.getY();
+        pubZ[index] = p.getZ();
+        pubAngle[index] = angle;
+        pubDamaged[index] = damaged;
+        pubDestroyed[index] = destroyed;
+        published[index] = true;
+        return true;
+    }
+
+    /**
+     * Queues a SpaceEntity to be added by the next applyPending().
+     * @param sp The SpaceEntity to add.
+     */
+    public synchronized void requestAdd(SpaceEntity sp)
+    {
+        pendingAdds.add(sp);
+    }
+
+    /**
+     * Queues a SpaceEntity to be removed by the next applyPending().
+     * @param sp The SpaceEntity to remove.
+     */
+    public synchronized void requestRemove(SpaceEntity sp)
+    {
+        pendingRemoves.add(sp);
+    }
+
+    /**
+     * Applies the queued adds and then the queued removes.
+     * @param added Receives the SpaceEntities that were added.
+     * @param removed Receives the SpaceEntities that were removed.
+     */
+    public synchronized void applyPending(ArrayList<SpaceEntity> added, ArrayList<SpaceEntity> removed)
+    {
+        ArrayList<SpaceEntity> adds = pendingAdds;
+        ArrayList<SpaceEntity> removes = pendingRemoves;
+        pendingAdds = spareAdds;
+        pendingRemoves = spareRemoves;
+
+        ensureCapacity(size + adds.size());
+        for (int i = 0; i < adds.size(); i++)
+        {
+            SpaceEntity sp = adds.get(i);
+            if (slotOf(sp) < 0)
+            {
+                int slot = openSlot(sp.getKind().ordinal());
+                items[slot] = sp;
+                frozen[slot] = null;
+                published[slot] = false;
+                setSlot(sp, slot);
+                added.add(sp);
+            }
+        }
+
+        for (int i = 0; i < removes.size(); i++)
+        {
+            SpaceEntity sp = removes.get(i);
+            int slot = slotOf(sp);
+            if (slot >= 0)
+            {
+                slots[HandleAllocator.index(sp.getHandle())] = 0;
+                closeSlot(sp.getKind().ordinal(), slot);
+                removed.add(sp);
+            }
+        }
+
+        adds.clear();
+        removes.clear();
+        spareAdds = adds;
+        spareRemoves = removes;
+    }
+
+    /**
+     * Stores many SpaceEntities at once, without going through the pending adds.
+     * Each bucket is moved at most once to make room, so this is much cheaper
+     * than adding the SpaceEntities one by one.
+     * @param adds The SpaceEntities to add.  Nulls and SpaceEntities that are already stored are skipped.
+     * @param added Receives the SpaceEntities that were added.
+     */
+    public synchronized void addAll(SpaceEntity[] adds, ArrayList<SpaceEntity> added)
+    {
+        int[] count = new int[KINDS.length];
+        for (int i = 0; i < adds.length; i++)
+        {
+            SpaceEntity sp = adds[i];
+            if (sp != null && slotOf(sp) < 0)
+            {
+                // Claimed until it gets its slot, so a SpaceEntity listed twice is only added once.
+                int index = HandleAllocator.index(sp.getHandle());
+                if (index < slots.length && slots[index] == CLAIMED)
+                    continue;
+                setSlot(sp, CLAIMED - 1);
+                count[sp.getKind().ordinal()]++;
+                added.add(sp);
+            }
+        }
+        if (added.isEmpty())
+            return;
+
+        int[] newStart = new int[KINDS.length + 1];
+        for (int k = 0; k < KINDS.length; k++)
+            newStart[k + 1] = newStart[k] + (bucketStart[k + 1] - bucketStart[k]) + count[k];
+        ensureCapacity(newStart[KINDS.length]);
+
+        // Buckets only move towards the end, so moving the last one first never overwrites one still to be moved.
+        for (int k = KINDS.length - 1; k >= 0; k--)
+        {
+            int from = bucketStart[k];
+            int to = newStart[k];
+            int length = bucketStart[k + 1] - from;
+            if (from != to && length > 0)
+            {
+                System.arraycopy(items, from, items, to, length);
+                System.arraycopy(frozen, from, frozen, to, length);
+                System.arraycopy(pubX, from, pubX, to, length);
+                System.arraycopy(pubY, from, pubY, to, length);
+                System.arraycopy(pubZ, from, pubZ, to, length);
+                System.arraycopy(pubAngle, from, pubAngle, to, length);
+                System.arraycopy(pubDamaged, from, pubDamaged, to, length);
+                System.arraycopy(pubDestroyed, from, pubDestroyed, to, length);
+                System.arraycopy(published, from, published, to, length);
+                for (int i = to; i < to + length; i++)
+                    setSlot(items[i], i);
+            }
+        }
+
+        int[] next = new int[KINDS.length];
+        for (int k = 0; k < KINDS.length; k++)
+            next[k] = newStart[k] + (bucketStart[k + 1] - bucketStart[k]);
+        for (int i = 0; i < added.size(); i++)
+        {
+            SpaceEntity sp = added.get(i);
+            int slot = next[sp.getKind().ordinal()]++;
+            items[slot] = sp;
+            frozen[slot] = null;
+            published[slot] = false;
+            setSlot(sp, slot);
+        }
+
+        System.arraycopy(newStart, 0, bucketStart, 0, newStart.length);
+        size = newStart[KINDS.length];
+    }
+
+    /**
+     * Frees the slot at the end of bucket k by moving the first SpaceEntity of
+     * every later bucket to the end of its bucket.
+     * @return The free slot.
+     */
+    private int openSlot(int k)
+    {
+        int hole = size;
+        for (int j = KINDS.length - 1; j > k; j--)
+        {
+            if (bucketStart[j] < hole)
+                moveSlot(bucketStart[j], hole);
+            hole = bucketStart[j];
+        }
+        for (int j = k + 1; j <= KINDS.length; j++)
+            bucketStart[j]++;
+        size++;
+        return hole;
+    }
+
+    /**
+     * Fills slot, which is in bucket k, with the last SpaceEntity of bucket k, and
+     * the hole that leaves with the last SpaceEntity of every later bucket.
+     */
+    private void closeSlot(int k, int slot)
+    {
+        int hole = slot;
+        for (int j = k; j < KINDS.length; j++)
+        {
+            int last = bucketStart[j + 1] - 1;
+            if (last != hole)
+                moveSlot(last, hole);
+            hole = last;
+        }
+        for (int j = k + 1; j <= KINDS.length; j++)
+            bucketStart[j]--;
+        size--;
+        items[hole] = null;
+        frozen[hole] = null;
+        published[hole] = false;
+    }
+
+    private void moveSlot(int from, int to)
+    {
+        items[to] = items[from];
+        frozen[to] = frozen[from];
+        pubX[to] = pubX[from];
+        pubY[to] = pubY[from];
+        pubZ[to] = pubZ[from];
+        pubAngle[to] = pubAngle[from];
+        pubDamaged[to] = pubDamaged[from];
+        pubDestroyed[to] = pubDestroyed[from];
+        published[to] = published[from];
+        setSlot(items[to], to);
+    }
+
+    /**
+     * @return The slot sp is stored in, or -1 if it is not stored.
+     */
+    private int slotOf(SpaceEntity sp)
+    {
+        int index = HandleAllocator.index(sp.getHandle());
+        if (index >= slots.length)
+            return -1;
+        int slot = slots[index] - 1;
+        if (slot < 0 || slot >= size || items[slot] != sp)
+            return -1;
+        return slot;
+    }
+
+    private void setSlot(SpaceEntity sp, int slot)
+    {
+        int index = HandleAllocator.index(sp.getHandle());
+        if (index >= slots.length)
+            slots = Arrays.copyOf(slots, Math.max(slots.length * 2, index + 1));
+        slots[index] = slot + 1;
+    }
+}
@@ -16,10 +16,12 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Set;
+import com.spacesimulation.utils.Faction;
 import com.spacesimulation.utils.Identifiable;
 import com.spacesimulation.utils.Movable;
 import com.spacesimulation.utils.Point3D;
 import com.spacesimulation.utils.PolygonPlus;
+import com.spacesimulation.utils.ShapeTemplate;
 
 /**
  * A class that implements SpaceEntity and represents a FighterShip.
@@ -32,23 +34,23 @@ public class FighterShip implements SpaceEntity
      * FighterShip's data members.
      */
     private static String shipType = "Fighter Ship";
-    private PolygonPlus polygon;
+    private static final EntityKind KIND = EntityKind.FIGHTER_SHIP;
+    private static final ShapeTemplate SHAPE = buildShape();
     private boolean destroyed;
     private boolean damaged;
     private double strength;
     private double maxStrength;
     private int missiles;
-    private String infoText;
     
     private Identifiable myId;
     private Movable myMover;
     
     /**
-     * targeted stores the String Ids of the SpaceEntities that the FighterShip has 
+     * targeted stores the handles of the SpaceEntities that the FighterShip has 
      * recently fire at.  This is to make sure that FighterShip do not fire dozens of
      * GuidedMissiles at a target in a very short period of time.
      */
-    private HashMap<String, Integer> targeted = new HashMap<String, Integer>();
+    private HashMap<Integer, Integer> targeted = new HashMap<Integer, Integer>();
     
     /**
      * FigherShip's Constructor
@@ -64,19 +66,36 @@ public class FighterShip implements SpaceEntity
      */
     public FighterShip(String color, double ang, double sp, double mStrength, int missiles) throws InvalidDoubleException, InvalidIntegerException, ColorNotFoundException, NullObjectException
     {
-        buildShape();
         destroyed = false;
         damaged = false;
         setStrength(mStrength);
         setMaxStrength(mStrength);
         setMissiles(missiles);
         
-        myMover = MovableImplFactory.createMovable(shipType, sp, ang);
+        myMover = MovableImplFactory.createMovable(KIND, sp, ang);
 
         myId = IdentifiableImplFactory.createIdentifiableImpl(color, shipType);
+    }
+
+    /**
+     * FighterShip's Constructor for values that have already been checked, such as those of a Scenario.
+     * @param side The side that the FighterShip is on.
+     * @param ang The angle of the FighterShip's travel.
+     * @param sp The FighterShip's speed.
+     * @param mStrength The maximum strength of the FighterShip.
+     * @param missiles The number of missiles the FighterShip currently has.
+     */
+    public FighterShip(Faction side, double ang, double sp, double mStrength, int missiles)
+    {
+        destroyed = false;
+        damaged = false;
+        strength = mStrength;
+        maxStrength = mStrength;
+        this.missiles = missiles;
         
-        updateInfoText();
-        
+        myMover = MovableImplFactory.createValidMovable(KIND, sp, ang);
+
+        myId = IdentifiableImplFactory.createIdentifiableImpl(side, shipType);
     }
 
     /**
@@ -97,18 +116,21 @@ public class FighterShip implements SpaceEntity
     public void update() 
     {
         if (strength <= 0)
+        {
             destroyed = true;
+            myMover.detonate();
+        }
         
         synchronized(targeted)
         {
         //Update HashMap that stores who has been fired at
         Set ids = targeted.keySet();
-        Iterator<String> idItr = ids.iterator();
+        Iterator<Integer> idItr = ids.iterator();
         synchronized(ids)
         {
             while (idItr.hasNext())
             {
-                String temp = idItr.next();
+                Integer temp = idItr.next();
                 if (targeted.get(temp) == 0)
                 {
                     idItr.remove();
@@ -124,18 +146,18 @@ public class FighterShip implements SpaceEntity
         //Fire missiles at targets that are close and have not be targeted recently
         if (missiles > 0)
         {
-            ArrayList<String> targets = EntityManager.getInstance().performRadarSweep(getLocation(), getColor());
-            Iterator<String> targetItr = targets.iterator();
+            ArrayList<Integer> targets = EntityManager.getInstance().performRadarSweep(getLocation(), getFaction());
+            Iterator<Integer> targetItr = targets.iterator();
             while(targetItr.hasNext())
             {
-                String id = targetItr.next();
+                Integer handle = targetItr.next();
             
-                if (!targeted.containsKey(id))
+                if (!targeted.containsKey(handle))
                 {
-                    EntityManager.getInstance().radarLock(id, getLocation());
+                    EntityManager.getInstance().radarLock(handle, getLocation());
                         try 
                         {
-                            GuidedMissile gM = GuidedMissileFactory.build(myId.getColorSt(), myMover.getLocation(), EntityManager.getInstance().getLocationById(id), id, 5.5, getAngle(), 1.0, 25.0, 1200.0, 250);                 
+                            GuidedMissile gM = GuidedMissileFactory.build(myId.getColorSt(), myMover.getLocation(), EntityManager.getInstance().getLocationByHandle(handle), handle, 5.5, getAngle(), 1.0, 25.0, 1200.0, 250);                 
                             EntityManager.getInstance().addEntity(gM);
                         } 
                         catch (InvalidDoubleException ex) 
@@ -155,7 +177,7 @@ public class FighterShip implements SpaceEntity
                             System.out.println(ex);
                         }
                     missiles = missiles-1;
-                    targeted.put(id, 250);
+                    targeted.put(handle, 250);
                 }
             }
         }
@@ -165,7 +187,7 @@ public class FighterShip implements SpaceEntity
     /**
      * Builds the Polygon of the FighterShip.
      */
-    public void buildShape() 
+    private static ShapeTemplate buildShape() 
     { 
         ArrayList<Point> sp = new ArrayList<Point>(); 
         sp.add(new Point(+0, -16)); 
@@ -181,10 +203,11 @@ public class FighterShip implements SpaceEntity
         sp.add(new Point(-10, -12)); 
         sp.add(new Point(-4, -8)); 
  
-        polygon = new PolygonPlus(); 
+        PolygonPlus polygon = new PolygonPlus(); 
         for (int i = 0; i < sp.size(); i++) { 
             polygon.addPoint(sp.get(i).x, sp.get(i).y); 
         } 
+        return new ShapeTemplate(polygon);
     } 
 
     /**
@@ -192,9 +215,9 @@ public class FighterShip implements SpaceEntity
      */
     public ConsoleItem makeConsoleItem() 
     {
-        return ConsoleItemFactory.createConsoleItem(getId(), getLocation(), 
+        return ConsoleItemFactory.createConsoleItem(getHandle(), getLocation(), 
                                                     getColor(), getAngle(), 
-                                                    getPolygon(), getInfoText(), 
+                                                    getPolygon(), this, 
                                                     isDestroyed(), isDamaged());
     }
 
@@ -222,6 +245,14 @@ public class FighterShip implements SpaceEntity
         return myId.getColorSt();
     }
 
+    /**
+     * @return The handle of the FighterShip.
+     */
+    public int getHandle() 
+    {
+        return myId.getHandle();
+    }
+
     /**
      * @return The Id of the FighterShip.
      */
@@ -239,12 +270,11 @@ public class FighterShip implements SpaceEntity
     }
 
     /**
-     * @return The Polygon of the FighterShip.
+     * @return The outline of the FighterShip, shared with every FighterShip.
      */
-    public PolygonPlus getPolygon() 
+    public ShapeTemplate getPolygon() 
     {
-        PolygonPlus pp = new PolygonPlus(polygon);
-        return pp;
+        return SHAPE;
     }
 
     /**
@@ -260,23 +290,15 @@ public class FighterShip implements SpaceEntity
      */
     public String getInfoText() 
     {
-        return infoText;
-    }
-
-    /**
-     * Updates the FighterShip's infoText as it may have changed.
-     */
-    public void updateInfoText() 
-    {
-        infoText = "ID: " + myId.getId() + "\n" + 
-                   "Location: " + EntityManager.getInstance().formatLocation(myMover.getLocation()) + "\n" + 
-                   "Destination: " + EntityManager.getInstance().formatLocation(myMover.getDestination()) + "\n" +
-                   "Speed: " + myMover.getSpeed() + "\n" +
-                   "Angle: " + String.format("%.2f", myMover.getAngle()) + "\n" +
-                   "Damaged: " + damaged + "\n" +
-                   "Strength: " + String.format("%.2f", strength) + "\n" +
-                   "Max Strength: " + maxStrength + "\n" +
-                   "Missiles: " + missiles;
+        return "ID: " + myId.getId() + "\n" + 
+               "Location: " + EntityManager.getInstance().formatLocation(myMover.getLocation()) + "\n" + 
+               "Destination: " + EntityManager.getInstance().formatLocation(myMover.getDestination()) + "\n" +
+               "Speed: " + myMover.getSpeed() + "\n" +
+               "Angle: " + String.format("%.2f", myMover.getAngle()) + "\n" +
+               "Damaged: " + damaged + "\n" +
+               "Strength: " + String.format("%.2f", strength) + "\n" +
+               "Max Strength: " + maxStrength + "\n" +
+               "Missiles: " + missiles;
     }
 
     /**
@@ -318,6 +340,30 @@ public class FighterShip implements SpaceEntity
     {
         return shipType;
     }
+    
+    /**
+     * @return EntityKind.FIGHTER_SHIP.
+     */
+    public EntityKind getKind()
+    {
+        return KIND;
+    }
+    
+    /**
+     * @return The side the FighterShip is on.
+     */
+    public Faction getFaction()
+    {
+        return myId.getFaction();
+    }
+    
+    /**
+     * @return The capabilities of every FighterShip.
+     */
+    public int getCapabilities()
+    {
+        return KIND.getCapabilities();
+    }
 
     /**
      * FighterShips do not reactToRadarLock.
@@ -377,6 +423,7 @@ public class FighterShip implements SpaceEntity
         
         if (destroyed == true)
         {
+            myMover.detonate();
             try {
                 DebrisCloud dc = DebrisCloudFactory.build(1, 200, "GRAY", getLocation(), true);
                 EntityManager.getInstance().addEntity(dc);
@@ -407,4 +454,13 @@ public class FighterShip implements SpaceEntity
     }
 
     
+
+    /**
+     * Releases the FighterShip's movement storage and handle.
+     */
+    public void release()
+    {
+        myMover.release();
+        myId.release();
+    }
 }
@@ -8,13 +8,17 @@ import com.spacesimulation.exceptions.NullObjectException;
 import com.spacesimulation.factories.ConsoleItemFactory;
 import com.spacesimulation.factories.IdentifiableImplFactory;
 import com.spacesimulation.factories.MovableImplFactory;
+import com.spacesimulation.factories.GuidedMissileFactory;
 import java.awt.Color;
 import java.awt.Point;
 import java.util.ArrayList;
+import com.spacesimulation.utils.Faction;
+import com.spacesimulation.utils.HandleAllocator;
 import com.spacesimulation.utils.Identifiable;
 import com.spacesimulation.utils.Movable;
 import com.spacesimulation.utils.Point3D;
 import com.spacesimulation.utils.PolygonPlus;
+import com.spacesimulation.utils.ShapeTemplate;
 
 /**
  * A class that implements SpaceEntity and represents a GuidedMissile.
@@ -24,26 +28,37 @@ import com.spacesimulation.utils.PolygonPlus;
 public class GuidedMissile implements SpaceEntity 
 {
     private static String shipType = "Guided Missile";
-    private PolygonPlus polygon;
+    private static final EntityKind KIND = EntityKind.GUIDED_MISSILE;
+    private static final ShapeTemplate SHAPE = buildShape();
     private boolean damaged;
     private boolean destroyed;
-    private String target;
+    private int target;
     private double strength;
     private double maxStrength;
     private double detRange;
     private double damage;
     private int duration;
-    private String infoText;
     
     private Identifiable myId;
     private Movable myMover;
     
+    /**
+     * released is true once the GuidedMissile has been handed back to GuidedMissileFactory for reuse.
+     */
+    private boolean released;
+    
+    /**
+     * infoText describes this life of the GuidedMissile to the ConsoleItems made from it.
+     * It is only made once a ConsoleItem is, and a new one is made after the GuidedMissile is reused.
+     */
+    private EntityInfoText infoText;
+    
     /**
      * GuidedMissile's Constructor.
      * @param side The side of the SpaceEntity that fired the GuidedMissile.
      * @param loc The location of the GuidedMissile.
      * @param des The destination of the GuidedMissile.
-     * @param tarId The id of the SpaceEntity the GuidedMissile is targeting.
+     * @param target The handle of the SpaceEntity the GuidedMissile is targeting.
      * @param speed The speed of the GuidedMissile.
      * @param angle The angle of the GuidedMissile.
      * @param maxSt The maximum strength of the GuidedMissile.
@@ -55,15 +70,13 @@ public class GuidedMissile implements SpaceEntity
      * @throws NullObjectException if side is null.
      * @throws InvalidIntegerException if duration < 0.
      */
-    public GuidedMissile(String side, Point3D loc, Point3D des, String tarId, double speed, double angle, double maxSt, double detRange, double dam, int dur) throws InvalidDoubleException, ColorNotFoundException, NullObjectException, InvalidIntegerException
+    public GuidedMissile(String side, Point3D loc, Point3D des, int target, double speed, double angle, double maxSt, double detRange, double dam, int dur) throws InvalidDoubleException, ColorNotFoundException, NullObjectException, InvalidIntegerException
     {
         
-        buildShape();
-        
         myId = IdentifiableImplFactory.createIdentifiableImpl(side, shipType);
-        myMover = MovableImplFactory.createMovable(shipType, loc, des, speed, angle);
+        myMover = MovableImplFactory.createMovable(KIND, loc, des, speed, angle);
         
-        target = tarId;
+        this.target = target;
         damaged = false;
         destroyed = false;
         setStrength(maxSt);
@@ -71,8 +84,39 @@ public class GuidedMissile implements SpaceEntity
         setDetRange(detRange);
         setDamage(dam);
         setDuration(dur);
+    }
+    
+    /**
+     * Makes a released GuidedMissile into a new one, as if it had been constructed with these arguments.
+     * @param side The side of the SpaceEntity that fired the GuidedMissile.
+     * @param loc The location of the GuidedMissile.
+     * @param des The destination of the GuidedMissile.
+     * @param target The handle of the SpaceEntity the GuidedMissile is targeting.
+     * @param speed The speed of the GuidedMissile.
+     * @param angle The angle of the GuidedMissile.
+     * @param maxSt The maximum strength of the GuidedMissile.
+     * @param detRange The detonation range of the GuidedMissile's explosion.
+     * @param dam The damage the GuidedMissile deals to other SpaceEntities.
+     * @param dur The duration of the GuidedMissile before it detonates.
+     * @throws InvalidDoubleException if speed or maxSt or detRange or dam < 0.
+     * @throws ColorNotFoundException if side does not exist.
+     * @throws NullObjectException if side is null.
+     * @throws InvalidIntegerException if duration < 0.
+     */
+    public void reinitialize(String side, Point3D loc, Point3D des, int target, double speed, double angle, double maxSt, double detRange, double dam, int dur) throws InvalidDoubleException, ColorNotFoundException, NullObjectException, InvalidIntegerException
+    {
+        myId.reinitialize(side, shipType);
+        myMover.reinitialize(loc, des, speed, angle);
+        released = false;
         
-        updateInfoText();    
+        this.target = target;
+        damaged = false;
+        destroyed = false;
+        setStrength(maxSt);
+        setMaxStrength(maxSt);
+        setDetRange(detRange);
+        setDamage(dam);
+        setDuration(dur);
     }
 
     /**
@@ -95,7 +139,7 @@ public class GuidedMissile implements SpaceEntity
             setDuration(duration-1);
         }
         
-        Point3D des = EntityManager.getInstance().getLocationById(target);
+        Point3D des = EntityManager.getInstance().getLocationByHandle(target);
         
         if (des == null)
         {
@@ -108,7 +152,7 @@ public class GuidedMissile implements SpaceEntity
         myMover.move(timeInterval);
         
         if (destroyed == true)
-            EntityManager.getInstance().processDetonation(myId.getId(), detRange, damage);
+            EntityManager.getInstance().processDetonation(myId.getHandle(), detRange, damage);
         
     }
 
@@ -119,15 +163,15 @@ public class GuidedMissile implements SpaceEntity
      */
     public void update() 
     {
-        target = EntityManager.getInstance().reaquireRadarLock(getLocation(), target, myId.getColor());
-        if (target == null)
+        target = EntityManager.getInstance().reaquireRadarLock(getLocation(), target, myId.getFaction());
+        if (target == HandleAllocator.NONE)
         {
             detonate();
             destroyed = true;
         }
     }
     
-    private void buildShape()
+    private static ShapeTemplate buildShape()
     { 
         ArrayList<Point> sp = new ArrayList<Point>(); 
         sp.add(new Point(0, -10)); 
@@ -143,11 +187,11 @@ public class GuidedMissile implements SpaceEntity
         sp.add(new Point(-2, 3)); 
         sp.add(new Point(-2, -6)); 
      
-        polygon = new PolygonPlus(); 
+        PolygonPlus polygon = new PolygonPlus(); 
         for (int i = 0; i < sp.size(); i++) { 
             polygon.addPoint(sp.get(i).x, sp.get(i).y); 
     }
-        
+        return new ShapeTemplate(polygon);
     }
 
     /**
@@ -155,12 +199,19 @@ public class GuidedMissile implements SpaceEntity
      */
     public ConsoleItem makeConsoleItem() 
     {
-    return ConsoleItemFactory.createConsoleItem(getId(), getLocation(), 
+    return ConsoleItemFactory.createConsoleItem(getHandle(), getLocation(), 
                                                 getColor(), getAngle(), 
-                                                getPolygon(), getInfoText(), 
+                                                getPolygon(), infoText(), 
                                                 isDestroyed(), isDamaged());
     }
 
+    private EntityInfoText infoText()
+    {
+        if (infoText == null)
+            infoText = new EntityInfoText(this);
+        return infoText;
+    }
+
     /**
      * @return The GuidedMissile's angle of travel.
      */
@@ -185,6 +236,14 @@ public class GuidedMissile implements SpaceEntity
         return myId.getColorSt();
     }
 
+    /**
+     * @return The handle of the GuidedMissile.
+     */
+    public int getHandle() 
+    {
+        return myId.getHandle();
+    }
+
     /**
      * @return The GuidedMissile's id.
      */
@@ -202,12 +261,11 @@ public class GuidedMissile implements SpaceEntity
     }
 
     /**
-     * @return The Polygon of the GuidedMissile.
+     * @return The outline of the GuidedMissile, shared with every GuidedMissile.
      */
-    public PolygonPlus getPolygon() 
+    public ShapeTemplate getPolygon() 
     {
-        PolygonPlus pp = new PolygonPlus(polygon);
-        return pp;
+        return SHAPE;
     }
 
     /**
@@ -223,25 +281,17 @@ public class GuidedMissile implements SpaceEntity
      */
     public String getInfoText() 
     {
-        return infoText;
-    }
-
-    /**
-     * Updates the GuidedMissile's infoText as it may have changed.
-     */
-    public void updateInfoText() 
-    {
-        infoText = "ID: " + myId.getId() + "\n" + 
-                   "Location: " + EntityManager.getInstance().formatLocation(myMover.getLocation()) + "\n" + 
-                   "Destination: " + EntityManager.getInstance().formatLocation(myMover.getDestination()) + "\n" +
-                   "Speed: " + myMover.getSpeed() + "\n" +
-                   "Angle: " + String.format("%.2f", getAngle()) + "\n" +
-                   "Damaged: " + damaged + "\n" +
-                   "Strength: " + strength + "\n" +
-                   "Max Strength: " + maxStrength + "\n" +
-                   "Detonation Range: " + detRange + "\n" +
-                   "Damage: " + damage + "\n" +
-                   "Duration: " + duration;
+        return "ID: " + myId.getId() + "\n" + 
+               "Location: " + EntityManager.getInstance().formatLocation(myMover.getLocation()) + "\n" + 
+               "Destination: " + EntityManager.getInstance().formatLocation(myMover.getDestination()) + "\n" +
+               "Speed: " + myMover.getSpeed() + "\n" +
+               "Angle: " + String.format("%.2f", getAngle()) + "\n" +
+               "Damaged: " + damaged + "\n" +
+               "Strength: " + strength + "\n" +
+               "Max Strength: " + maxStrength + "\n" +
+               "Detonation Range: " + detRange + "\n" +
+               "Damage: " + damage + "\n" +
+               "Duration: " + duration;
     }
 
     /**
@@ -283,6 +333,30 @@ public class GuidedMissile implements SpaceEntity
     {
         return shipType;
     }
+    
+    /**
+     * @return EntityKind.GUIDED_MISSILE.
+     */
+    public EntityKind getKind()
+    {
+        return KIND;
+    }
+    
+    /**
+     * @return The side the GuidedMissile is on.
+     */
+    public Faction getFaction()
+    {
+        return myId.getFaction();
+    }
+    
+    /**
+     * @return The capabilities of every GuidedMissile.
+     */
+    public int getCapabilities()
+    {
+        return KIND.getCapabilities();
+    }
 
     /**
      * GuidedMissile does not do anything when a radar locks onto it.
@@ -377,4 +451,21 @@ public class GuidedMissile implements SpaceEntity
     public boolean isTargetable() {
         return true;
     }
+
+    /**
+     * Releases the GuidedMissile's movement storage and handle and hands it back to GuidedMissileFactory for reuse.
+     */
+    public void release()
+    {
+        if (!released)
+        {
+            if (infoText != null)
+                infoText.detach();
+            infoText = null;
+            released = true;
+            myMover.release();
+            myId.release();
+            GuidedMissileFactory.recycle(this);
+        }
+    }
 }
@@ -0,0 +1,102 @@
+package com.spacesimulation.domain;
+
+import com.spacesimulation.utils.Point3D;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * A SpatialIndex that keeps one UniformGridIndex per EntityKind, so a query
+ * that only cares about some kinds never visits the SpaceEntities of the others.
+ * Radar, for example, does not wade through the bolts and debris of a battle.
+ * @author Steven Muschler
+ */
+
+public class KindBucketedIndex implements SpatialIndex
+{
+    private static final EntityKind[] KINDS = EntityKind.values();
+
+    private final SpatialIndex[] byKind = new SpatialIndex[KINDS.length];
+
+    /**
+     * KindBucketedIndex's Constructor.
+     * @param cellSize The length of a side of each grid cell.
+     * @param slack The furthest a SpaceEntity can travel between rebuilds.  Queries are widened by it.
+     */
+    public KindBucketedIndex(double cellSize, double slack)
+    {
+        for (int k = 0; k < KINDS.length; k++)
+            byKind[k] = new UniformGridIndex(cellSize, slack);
+    }
+
+    /**
+     * Rebuilds every kind's grid from the matching bucket of an EntityStore.
+     * @param store The SpaceEntities to index.
+     * @param xSize The size of space along the x axis.
+     * @param ySize The size of space along the y axis.
+     * @param zSize The size of space along the z axis.
+     */
+    public void rebuild(EntityStore store, int xSize, int ySize, int zSize)
+    {
+        for (int k = 0; k < KINDS.length; k++)
+            byKind[k].rebuild(store.bucket(KINDS[k]), xSize, ySize, zSize);
+    }
+
+    /**
+     * Rebuilds every kind's grid from scratch.
+     * @param entities The SpaceEntities to index.
+     * @param xSize The size of space along the x axis.
+     * @param ySize The size of space along the y axis.
+     * @param zSize The size of space along the z axis.
+     */
+    public void rebuild(Collection<SpaceEntity> entities, int xSize, int ySize, int zSize)
+    {
+        if (entities instanceof EntityStore)
+        {
+            rebuild((EntityStore) entities, xSize, ySize, zSize);
+            return;
+        }
+
+        List<List<SpaceEntity>> split = new ArrayList<List<SpaceEntity>>(KINDS.length);
+        for (int k = 0; k < KINDS.length; k++)
+            split.add(new ArrayList<SpaceEntity>());
+        for (SpaceEntity sp : entities)
+            split.get(sp.getKind().ordinal()).add(sp);
+        for (int k = 0; k < KINDS.length; k++)
+            byKind[k].rebuild(split.get(k), xSize, ySize, zSize);
+    }
+
+    /**
+     * Adds a SpaceEntity that was created after the last rebuild to its kind's grid.
+     * @param sp The SpaceEntity to add.
+     */
+    public void insert(SpaceEntity sp)
+    {
+        byKind[sp.getKind().ordinal()].insert(sp);
+    }
+
+    /**
+     * Collects the SpaceEntities of every kind that may be within radius of center.
+     * @param center The point being queried.
+     * @param radius The range of the query.
+     * @param results The list that the candidates are added to.
+     */
+    public void query(Point3D center, double radius, List<SpaceEntity> results)
+    {
+        for (int k = 0; k < KINDS.length; k++)
+            byKind[k].query(center, radius, results);
+    }
+
+    /**
+     * Collects the SpaceEntities of the given kinds that may be within radius of center.
+     * @param center The point being queried.
+     * @param radius The range of the query.
+     * @param kinds The kinds to look for.
+     * @param results The list that the candidates are added to.
+     */
+    public void query(Point3D center, double radius, EntityKind[] kinds, List<SpaceEntity> results)
+    {
+        for (int i = 0; i < kinds.length; i++)
+            byKind[kinds[i].ordinal()].query(center, radius, results);
+    }
+}
@@ -8,13 +8,16 @@ import com.spacesimulation.exceptions.NullObjectException;
 import com.spacesimulation.factories.ConsoleItemFactory;
 import com.spacesimulation.factories.IdentifiableImplFactory;
 import com.spacesimulation.factories.MovableImplFactory;
+import com.spacesimulation.factories.RailGunBoltFactory;
 import java.awt.Color;
 import java.awt.Point;
 import java.util.ArrayList;
+import com.spacesimulation.utils.Faction;
 import com.spacesimulation.utils.Identifiable;
 import com.spacesimulation.utils.Movable;
 import com.spacesimulation.utils.Point3D;
 import com.spacesimulation.utils.PolygonPlus;
+import com.spacesimulation.utils.ShapeTemplate;
 
 /**
  * A class that implements SpaceEntity and represents a RailGunBolt.
@@ -24,17 +27,28 @@ import com.spacesimulation.utils.PolygonPlus;
 public class RailGunBolt implements SpaceEntity
 {
     private static String shipType = "Rail Gun Bolt";
-    private PolygonPlus polygon;
+    private static final EntityKind KIND = EntityKind.RAIL_GUN_BOLT;
+    private static final ShapeTemplate SHAPE = buildShape();
     private boolean damaged;
     private double strength;
     private double maxStrength;
     private double detRange;
     private double damage;
-    private String infoText;
     
     private Identifiable myId;
     private Movable myMover;
     
+    /**
+     * released is true once the RailGunBolt has been handed back to RailGunBoltFactory for reuse.
+     */
+    private boolean released;
+    
+    /**
+     * infoText describes this life of the RailGunBolt to the ConsoleItems made from it.
+     * It is only made once a ConsoleItem is, and a new one is made after the RailGunBolt is reused.
+     */
+    private EntityInfoText infoText;
+    
     /**
      * RailGunBolt's Constructor
      * @param side The side/color that the RailGunBolt belongs to.
@@ -52,14 +66,38 @@ public class RailGunBolt implements SpaceEntity
     public RailGunBolt(String side, double speed, double angle, double mStrength, double detRange, double dam, Point3D loc, Point3D des) throws InvalidDoubleException, ColorNotFoundException, NullObjectException
     {
         myId = IdentifiableImplFactory.createIdentifiableImpl(side, shipType);
-        myMover = MovableImplFactory.createMovable(shipType, loc, des, speed, angle);
-        buildShape();
+        myMover = MovableImplFactory.createMovable(KIND, loc, des, speed, angle);
+        damaged = false;
+        setStrength(mStrength);
+        setMaxStrength(mStrength);
+        setDetRange(detRange);
+        setDamage(dam);
+    }
+    
+    /**
+     * Makes a released RailGunBolt into a new one, as if it had been constructed with these arguments.
+     * @param side The side/color that the RailGunBolt belongs to.
+     * @param speed The speed of the RailGunBolt.
+     * @param angle The angle of the RailGunBolt.
+     * @param mStrength The maximum strength of the RailGunBolt.
+     * @param detRange The detonation range of the RailGunBolt.
+     * @param dam The damage the RailGunBolt does.
+     * @param loc The location of the RailGunBolt.
+     * @param des The destination of the RailGunBolt.
+     * @throws InvalidDoubleException thrown if speed or mStrength or detRange or dam < 0.
+     * @throws ColorNotFoundException thrown if side does not exist.
+     * @throws NullObjectException thrown if side is null.
+     */
+    public void reinitialize(String side, double speed, double angle, double mStrength, double detRange, double dam, Point3D loc, Point3D des) throws InvalidDoubleException, ColorNotFoundException, NullObjectException
+    {
+        myId.reinitialize(side, shipType);
+        myMover.reinitialize(loc, des, speed, angle);
+        released = false;
         damaged = false;
         setStrength(mStrength);
         setMaxStrength(mStrength);
         setDetRange(detRange);
         setDamage(dam);
-        updateInfoText();
     }
     
     /**
@@ -71,7 +109,7 @@ public class RailGunBolt implements SpaceEntity
     {
         myMover.move(timeInterval);
         if (atDestination())
-            EntityManager.getInstance().processDetonation(getId(), detRange, damage);
+            EntityManager.getInstance().processDetonation(getHandle(), detRange, damage);
     }
 
     /**
@@ -81,7 +119,7 @@ public class RailGunBolt implements SpaceEntity
     {
     }
 
-    private void buildShape() 
+    private static ShapeTemplate buildShape() 
     {
         ArrayList<Point> sp = new ArrayList<Point>();
         sp.add(new Point(2, -6));
@@ -89,11 +127,12 @@ public class RailGunBolt implements SpaceEntity
         sp.add(new Point(-2, 3));
         sp.add(new Point(-2, -6));
         
-        polygon = new PolygonPlus();
+        PolygonPlus polygon = new PolygonPlus();
         for (int i = 0; i < sp.size(); i++) 
         {
             polygon.addPoint(sp.get(i).x, sp.get(i).y);
         }
+        return new ShapeTemplate(polygon);
     }
 
     /**
@@ -101,10 +140,17 @@ public class RailGunBolt implements SpaceEntity
      */
     public ConsoleItem makeConsoleItem() 
     {
-        return ConsoleItemFactory.createConsoleItem(getId(), getLocation(), 
+        return ConsoleItemFactory.createConsoleItem(getHandle(), getLocation(), 
                                                     getColor(), getAngle(), 
-                                                    getPolygon(), getInfoText(), 
-                                                    isDestroyed(), isDamaged());
+                                                    getPolygon(), infoText(), 
+                                                    isDestroyed(), isDamaged(), true);
+    }
+
+    private EntityInfoText infoText()
+    {
+        if (infoText == null)
+            infoText = new EntityInfoText(this);
+        return infoText;
     }
 
     /**
@@ -123,6 +169,14 @@ public class RailGunBolt implements SpaceEntity
         return myId.getColor();
     }
 
+    /**
+     * @return The handle of the RailGunBolt.
+     */
+    public int getHandle() 
+    {
+        return myId.getHandle();
+    }
+
     /**
      * @return The id of the RailGunBolt.
      */
@@ -148,12 +202,11 @@ public class RailGunBolt implements SpaceEntity
     }
 
     /**
-     * @return The Polygon of the RailGunBolt. 
+     * @return The outline of the RailGunBolt, shared with every RailGunBolt.
      */
-    public PolygonPlus getPolygon() 
+    public ShapeTemplate getPolygon() 
     {
-        PolygonPlus pp = new PolygonPlus(polygon);
-        return pp;
+        return SHAPE;
     }
 
     /**
@@ -169,24 +222,16 @@ public class RailGunBolt implements SpaceEntity
      */
     public String getInfoText() 
     {
-        return infoText;
-    }
-
-    /**
-     * Updates RailGunBolt's infoText as it may have changed.
-     */
-    public void updateInfoText() 
-    {
-        infoText = "ID: " + myId.getId() + "\n" + 
-                   "Location: " + EntityManager.getInstance().formatLocation(getLocation()) + "\n" + 
-                   "Destination: " + EntityManager.getInstance().formatLocation(getDestination()) + "\n" +
-                   "Speed: " + myMover.getSpeed() + "\n" +
-                   "Angle: " + String.format("%.2f", getAngle()) + "\n" +
-                   "Damaged: " + damaged + "\n" +
-                   "Strength: " + strength + "\n" +
-                   "Max Strength: " + maxStrength + "\n" +
-                   "Detonation Range: " + detRange + "\n" +
-                   "Damage: " + damage;
+        return "ID: " + myId.getId() + "\n" + 
+               "Location: " + EntityManager.getInstance().formatLocation(getLocation()) + "\n" + 
+               "Destination: " + EntityManager.getInstance().formatLocation(getDestination()) + "\n" +
+               "Speed: " + myMover.getSpeed() + "\n" +
+               "Angle: " + String.format("%.2f", getAngle()) + "\n" +
+               "Damaged: " + damaged + "\n" +
+               "Strength: " + strength + "\n" +
+               "Max Strength: " + maxStrength + "\n" +
+               "Detonation Range: " + detRange + "\n" +
+               "Damage: " + damage;
     }
 
     /**
@@ -256,6 +301,30 @@ public class RailGunBolt implements SpaceEntity
         return shipType;
     }
     
+    /**
+     * @return EntityKind.RAIL_GUN_BOLT.
+     */
+    public EntityKind getKind()
+    {
+        return KIND;
+    }
+    
+    /**
+     * @return The side the RailGunBolt is on.
+     */
+    public Faction getFaction()
+    {
+        return myId.getFaction();
+    }
+    
+    /**
+     * @return The capabilities of every RailGunBolt.
+     */
+    public int getCapabilities()
+    {
+        return KIND.getCapabilities();
+    }
+    
     /**
      * @return the String representation of the RailGunBolt's color/side.
      */
@@ -301,4 +370,21 @@ public class RailGunBolt implements SpaceEntity
     public boolean isTargetable() {
         return false;
     }
+
+    /**
+     * Releases the RailGunBolt's movement storage and handle and hands it back to RailGunBoltFactory for reuse.
+     */
+    public void release()
+    {
+        if (!released)
+        {
+            if (infoText != null)
+                infoText.detach();
+            infoText = null;
+            released = true;
+            myMover.release();
+            myId.release();
+            RailGunBoltFactory.recycle(this);
+        }
+    }
 }
@@ -0,0 +1,199 @@
+package com.spacesimulation.domain;
+
+import com.spacesimulation.exceptions.ColorNotFoundException;
+import com.spacesimulation.exceptions.InvalidDoubleException;
+import com.spacesimulation.exceptions.InvalidIntegerException;
+import com.spacesimulation.exceptions.NullObjectException;
+import com.spacesimulation.factories.CargoShipFactory;
+import com.spacesimulation.factories.FighterShipFactory;
+import com.spacesimulation.factories.SpacePortFactory;
+import com.spacesimulation.utils.Faction;
+import java.util.ArrayList;
+
+/**
+ * A description of the SpaceEntities to start a simulation with, side by side.
+ * Each side is checked once when it is added, so EntityManager.spawn can build
+ * any number of SpaceEntities from it without anything left to go wrong.
+ * @author Steven Muschler
+ */
+
+public class Scenario
+{
+    private final ArrayList<Side> sides = new ArrayList<Side>();
+    private int size;
+
+    /**
+     * The SpaceEntities of one side: its CargoShips, then its FighterShips, then its SpacePorts.
+     */
+    private static class Side
+    {
+        private final Faction faction;
+        private final int numCargoShips;
+        private final int numCloudsPerShip;
+        private final double cargoShipSpeed;
+        private final double cargoShipStrength;
+        private final int numFighterShips;
+        private final int missiles;
+        private final double fighterShipSpeed;
+        private final double fighterShipStrength;
+        private final int numSpacePorts;
+        private final double spacePortSpeed;
+        private final double spacePortStrength;
+
+        Side(Faction faction, int numCargoShips, int numCloudsPerShip, double cargoShipSpeed, double cargoShipStrength,
+             int numFighterShips, int missiles, double fighterShipSpeed, double fighterShipStrength,
+             int numSpacePorts, double spacePortSpeed, double spacePortStrength)
+        {
+            this.faction = faction;
+            this.numCargoShips = numCargoShips;
+            this.numCloudsPerShip = numCloudsPerShip;
+            this.cargoShipSpeed = cargoShipSpeed;
+            this.cargoShipStrength = cargoShipStrength;
+            this.numFighterShips = numFighterShips;
+            this.missiles = missiles;
+            this.fighterShipSpeed = fighterShipSpeed;
+            this.fighterShipStrength = fighterShipStrength;
+            this.numSpacePorts = numSpacePorts;
+            this.spacePortSpeed = spacePortSpeed;
+            this.spacePortStrength = spacePortStrength;
+        }
+
+        int size()
+        {
+            return numCargoShips + numFighterShips + numSpacePorts;
+        }
+    }
+
+    /**
+     * Adds a side to the Scenario.
+     * @param side The color of the side.
+     * @param numCargoShips The number of CargoShips.
+     * @param numCloudsPerShip The number of DebrisClouds each CargoShip carries.
+     * @param cargoShipSpeed The speed of the CargoShips.
+     * @param cargoShipStrength The maximum strength of the CargoShips.
+     * @param numFighterShips The number of FighterShips.
+     * @param missiles The number of GuidedMissiles each FighterShip carries.
+     * @param fighterShipSpeed The speed of the FighterShips.
+     * @param fighterShipStrength The maximum strength of the FighterShips.
+     * @param numSpacePorts The number of SpacePorts.
+     * @param spacePortSpeed The speed of the SpacePorts.
+     * @param spacePortStrength The maximum strength of the SpacePorts.
+     * @throws InvalidIntegerException if any of the counts < 0.
+     * @throws InvalidDoubleException if any of the speeds or strengths < 0.
+     * @throws ColorNotFoundException if side does not exist.
+     * @throws NullObjectException if side is null.
+     */
+    public void addSide(String side, int numCargoShips, int numCloudsPerShip, double cargoShipSpeed, double cargoShipStrength,
+                        int numFighterShips, int missiles, double fighterShipSpeed, double fighterShipStrength,
+                        int numSpacePorts, double spacePortSpeed, double spacePortStrength)
+                        throws InvalidIntegerException, InvalidDoubleException, ColorNotFoundException, NullObjectException
+    {
+        Faction faction = Faction.of(side);
+        checkCount("CargoShips", numCargoShips);
+        checkCount("Debris Clouds", numCloudsPerShip);
+        checkCount("FighterShips", numFighterShips);
+        checkCount("Missiles", missiles);
+        checkCount("SpacePorts", numSpacePorts);
+        checkDouble("CargoShip Speed", cargoShipSpeed);
+        checkDouble("CargoShip Strength", cargoShipStrength);
+        checkDouble("FighterShip Speed", fighterShipSpeed);
+        checkDouble("FighterShip Strength", fighterShipStrength);
+        checkDouble("SpacePort Speed", spacePortSpeed);
+        checkDouble("SpacePort Strength", spacePortStrength);
+
+        Side s = new Side(faction, numCargoShips, numCloudsPerShip, cargoShipSpeed, cargoShipStrength,
+                          numFighterShips, missiles, fighterShipSpeed, fighterShipStrength,
+                          numSpacePorts, spacePortSpeed, spacePortStrength);
+        if ((long) size + s.size() > Integer.MAX_VALUE)
+            throw new InvalidIntegerException("Too Many SpaceEntities Encountered: " + ((long) size + s.size()));
+        sides.add(s);
+        size += s.size();
+    }
+
+    /**
+     * @return The number of SpaceEntities in the Scenario.
+     */
+    public int size()
+    {
+        return size;
+    }
+
+    /**
+     * @return The number of sides in the Scenario.
+     */
+    public int numSides()
+    {
+        return sides.size();
+    }
+
+    /**
+     * @param side The index of a side, in the order the sides were added.
+     * @return The side's Faction.
+     */
+    public Faction getFaction(int side)
+    {
+        return sides.get(side).faction;
+    }
+
+    /**
+     * @param side The index of a side, in the order the sides were added.
+     * @return The number of CargoShips and FighterShips on the side.
+     */
+    public int getNumShips(int side)
+    {
+        Side s = sides.get(side);
+        return s.numCargoShips + s.numFighterShips;
+    }
+
+    /**
+     * @param side The index of a side, in the order the sides were added.
+     * @return The number of SpacePorts on the side.
+     */
+    public int getNumSpacePorts(int side)
+    {
+        return sides.get(side).numSpacePorts;
+    }
+
+    /**
+     * Builds one of the Scenario's SpaceEntities.  The SpaceEntities of the first
+     * side come first, and within a side the CargoShips, then the FighterShips,
+     * then the SpacePorts.  Safe to call from several threads at once.
+     * @param index Which SpaceEntity to build, from 0 to size() - 1.
+     * @return The new SpaceEntity.
+     * @throws IndexOutOfBoundsException if index is not in the Scenario.
+     */
+    public SpaceEntity build(int index)
+    {
+        int i = index;
+        for (int k = 0; k < sides.size(); k++)
+        {
+            Side s = sides.get(k);
+            if (i >= s.size())
+            {
+                i -= s.size();
+                continue;
+            }
+
+            // addSide checked every value and looked the side up, so nothing is checked again here.
+            if (i < s.numCargoShips)
+                return CargoShipFactory.build(s.faction, 4, s.cargoShipSpeed, s.cargoShipStrength, s.numCloudsPerShip);
+            i -= s.numCargoShips;
+            if (i < s.numFighterShips)
+                return FighterShipFactory.build(s.faction, 0.0, s.fighterShipSpeed, s.fighterShipStrength, s.missiles);
+            return SpacePortFactory.build(s.faction, 0.0, s.spacePortSpeed, s.spacePortStrength);
+        }
+        throw new IndexOutOfBoundsException("No SpaceEntity " + index + " in a Scenario of " + size);
+    }
+
+    private static void checkCount(String what, int count) throws InvalidIntegerException
+    {
+        if (count < 0)
+            throw new InvalidIntegerException("Negative Number of " + what + " Encountered: " + count);
+    }
+
+    private static void checkDouble(String what, double value) throws InvalidDoubleException
+    {
+        if (value < 0.0)
+            throw new InvalidDoubleException("Negative " + what + " Encountered: " + value);
+    }
+}
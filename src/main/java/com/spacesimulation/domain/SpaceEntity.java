@@ -4,14 +4,16 @@ import com.spacesimulation.exceptions.InvalidIntegerException;
 import java.awt.Color;
 import com.spacesimulation.utils.Point3D;
 import com.spacesimulation.display.ConsoleItem;
-import com.spacesimulation.utils.PolygonPlus;
+import com.spacesimulation.display.InfoTextSource;
+import com.spacesimulation.utils.Faction;
+import com.spacesimulation.utils.ShapeTemplate;
 
 /**
  * A interface that represents a SpaceEntitiy
  * @author Steven Muschler
  */
 
-public interface SpaceEntity {
+public interface SpaceEntity extends InfoTextSource {
     /**
      * Movement algorithm for SpaceEntities
      * @param timeInterval the amount time that the entity should travel when called.
@@ -48,7 +50,13 @@ public interface SpaceEntity {
     String getColorSt();
 
     /**
-     * @return The SpaceEntity's unique String identifier.
+     * @return The SpaceEntity's handle.  No two live SpaceEntities share a handle,
+     * and a handle is never matched by a later SpaceEntity once its owner is released.
+     */
+    int getHandle();
+
+    /**
+     * @return The SpaceEntity's String identifier, for display.
      */
     String getId();
 
@@ -59,25 +67,15 @@ public interface SpaceEntity {
     Point3D getLocation();
 
     /**
-     * @return A copy of the Polygon used to create the SpaceEntity's icon.
-     * @see com.spacesimulation.utils.PolygonPlus
+     * @return The outline used to create the SpaceEntity's icon.  It is shared and never changes.
+     * @see com.spacesimulation.utils.ShapeTemplate
      */
-    PolygonPlus getPolygon();
+    ShapeTemplate getPolygon();
     
     /**
      * Sets the SpaceEntity's destination.  The destination chosen is random.
      */
     void setDestination();
-
-    /**
-     * @return String summary of the SpaceEntity's information.
-     */
-    String getInfoText();
-    
-    /**
-     * Updates the infoText of the SpaceEntity as the information may have changed.
-     */
-    void updateInfoText();
     
     /**
      * @return True if the SpaceEntity has reached its destination.  False otherwise.
@@ -114,6 +112,21 @@ public interface SpaceEntity {
      */
     String getEntityType();
     
+    /**
+     * @return The kind of the SpaceEntity.
+     */
+    EntityKind getKind();
+    
+    /**
+     * @return The side the SpaceEntity is on.  SpaceEntities are on the same side exactly when this is the same object.
+     */
+    Faction getFaction();
+    
+    /**
+     * @return The SpaceEntity's capability bits, made of the EntityKind constants.
+     */
+    int getCapabilities();
+    
     /**
      * Behavior performed when the SpaceEntity has been targeted on radar.
      * @param p Location of the SpaceEntity that has targeted this SpaceEntity.
@@ -126,4 +139,9 @@ public interface SpaceEntity {
      * Reduces SpaceEntity's strength.
      */
     void applyDamage(double dam);
+    
+    /**
+     * Releases any shared storage and the handle held by the SpaceEntity.  Called by EntityManager once the SpaceEntity has been removed.
+     */
+    void release();
 }
@@ -14,10 +14,13 @@ import java.awt.Color;
 import java.awt.Point;
 import java.util.ArrayList;
 import java.util.Iterator;
+import com.spacesimulation.utils.Faction;
 import com.spacesimulation.utils.Identifiable;
 import com.spacesimulation.utils.Movable;
 import com.spacesimulation.utils.Point3D;
 import com.spacesimulation.utils.PolygonPlus;
+import com.spacesimulation.utils.ShapeTemplate;
+import com.spacesimulation.utils.SimulationRandom;
 
 /**
  * A class that implements SpaceEntity and represents a SpacePort.
@@ -27,12 +30,12 @@ import com.spacesimulation.utils.PolygonPlus;
 public class SpacePort implements SpaceEntity
 {
     private static String shipType = "Space Port";
-    private PolygonPlus polygon;
+    private static final EntityKind KIND = EntityKind.SPACE_PORT;
+    private static final ShapeTemplate SHAPE = buildShape();
     private boolean destroyed;
     private boolean damaged;
     private double strength;
     private double maxStrength;
-    private String infoText;
     private int numBolts;
     
     /**
@@ -57,16 +60,34 @@ public class SpacePort implements SpaceEntity
      */
     public SpacePort(String color, double ang, double sp, boolean des, boolean dam, double mStrength) throws InvalidDoubleException, ColorNotFoundException, NullObjectException
     {
-        buildShape();
         destroyed = des;
         damaged = dam;
         numBolts = 100;
         setStrength(mStrength);
         setMaxStrength(mStrength);
         
-        myMover = MovableImplFactory.createMovable(shipType, sp, ang);
+        myMover = MovableImplFactory.createMovable(KIND, sp, ang);
         myId = IdentifiableImplFactory.createIdentifiableImpl(color, shipType);
     }
+
+    /**
+     * SpacePort's Constructor for values that have already been checked, such as those of a Scenario.
+     * @param side The side that the SpacePort is on.
+     * @param ang The angle of the SpacePort's travel.
+     * @param sp The SpacePort's speed.
+     * @param mStrength The maximum strength of the SpacePort.
+     */
+    public SpacePort(Faction side, double ang, double sp, double mStrength)
+    {
+        destroyed = false;
+        damaged = false;
+        numBolts = 100;
+        strength = mStrength;
+        maxStrength = mStrength;
+        
+        myMover = MovableImplFactory.createValidMovable(KIND, sp, ang);
+        myId = IdentifiableImplFactory.createIdentifiableImpl(side, shipType);
+    }
     
     /**
      * SpacePort's Movement Algorithm.  Delegated to a movableImpl.
@@ -83,10 +104,10 @@ public class SpacePort implements SpaceEntity
      */
     public void update() 
     {
-        dockedShips = EntityManager.getInstance().findDockedShips(myMover.getLocation(), myId.getColor());
+        dockedShips = EntityManager.getInstance().findDockedShips(myMover.getLocation(), myId.getFaction());
     }
 
-    private void buildShape() 
+    private static ShapeTemplate buildShape() 
     {
         ArrayList<Point> sp = new ArrayList<Point>();
         sp.add(new Point(0, -20));
@@ -98,11 +119,12 @@ public class SpacePort implements SpaceEntity
         sp.add(new Point(-20, 0));
         sp.add(new Point(-6, -6));
         
-        polygon = new PolygonPlus();
+        PolygonPlus polygon = new PolygonPlus();
         for (int i = 0; i < sp.size(); i++) 
         {
             polygon.addPoint(sp.get(i).x, sp.get(i).y);
         }
+        return new ShapeTemplate(polygon);
     }
 
     /**
@@ -110,9 +132,9 @@ public class SpacePort implements SpaceEntity
      */
     public ConsoleItem makeConsoleItem() 
     {
-        return ConsoleItemFactory.createConsoleItem(getId(), getLocation(),
+        return ConsoleItemFactory.createConsoleItem(getHandle(), getLocation(),
                                                     getColor(), getAngle(), 
-                                                    getPolygon(), getInfoText(), 
+                                                    getPolygon(), this, 
                                                     isDestroyed(), isDamaged());
     }
 
@@ -130,6 +152,13 @@ public class SpacePort implements SpaceEntity
         return myId.getColor();
     }
 
+    /**
+     * @return The handle of the SpacePort.
+     */
+    public int getHandle() {
+        return myId.getHandle();
+    }
+
     /**
      * @return The String id of the SpacePort.
      */
@@ -146,12 +175,11 @@ public class SpacePort implements SpaceEntity
     }
 
     /**
-     * @return The Polygon of the SpacePort. 
+     * @return The outline of the SpacePort, shared with every SpacePort.
      */
-    public PolygonPlus getPolygon() 
+    public ShapeTemplate getPolygon() 
     {
-        PolygonPlus pp = new PolygonPlus(polygon);
-        return pp;
+        return SHAPE;
     }
 
     /**
@@ -167,22 +195,14 @@ public class SpacePort implements SpaceEntity
      */
     public String getInfoText() 
     {
-        return infoText;
-    }
-
-    /**
-     * Updates the SpacePort's infoText as it may have changed.
-     */
-    public void updateInfoText() 
-    {
-        infoText = "ID: " + myId.getId() + "\n" + 
-                   "Location: " + EntityManager.getInstance().formatLocation(myMover.getLocation()) + "\n" + 
-                   "Destination: " + EntityManager.getInstance().formatLocation(myMover.getDestination()) + "\n" +
-                   "Speed: " + myMover.getSpeed() + "\n" +
-                   "Angle: " + String.format("%.2f", myMover.getAngle()) + "\n" +
-                   "Damaged: " + damaged + "\n" +
-                   "Strength: " + String.format("%.2f", strength) + "\n" +
-                   "Max Strength: " + maxStrength;
+        return "ID: " + myId.getId() + "\n" + 
+               "Location: " + EntityManager.getInstance().formatLocation(myMover.getLocation()) + "\n" + 
+               "Destination: " + EntityManager.getInstance().formatLocation(myMover.getDestination()) + "\n" +
+               "Speed: " + myMover.getSpeed() + "\n" +
+               "Angle: " + String.format("%.2f", myMover.getAngle()) + "\n" +
+               "Damaged: " + damaged + "\n" +
+               "Strength: " + String.format("%.2f", strength) + "\n" +
+               "Max Strength: " + maxStrength;
     }
 
     /**
@@ -233,6 +253,30 @@ public class SpacePort implements SpaceEntity
         return shipType;
     }
     
+    /**
+     * @return EntityKind.SPACE_PORT.
+     */
+    public EntityKind getKind()
+    {
+        return KIND;
+    }
+    
+    /**
+     * @return The side the SpacePort is on.
+     */
+    public Faction getFaction()
+    {
+        return myId.getFaction();
+    }
+    
+    /**
+     * @return The capabilities of every SpacePort.
+     */
+    public int getCapabilities()
+    {
+        return KIND.getCapabilities();
+    }
+    
     /**
      * @return The String representation of the SpacePort's color/side. 
      */
@@ -255,11 +299,12 @@ public class SpacePort implements SpaceEntity
         else
             i = 0;
         
+        SimulationRandom random = EntityManager.getInstance().random();
         for (; i < 10; i++)
         {
-            double x = p.getX()*(0.95+(Math.random()*0.1));
-            double y = p.getY()*(0.95+(Math.random()*0.1));
-            double z = p.getZ()*(0.95+(Math.random()*0.1));
+            double x = p.getX()*(0.95+(random.nextDouble()*0.1));
+            double y = p.getY()*(0.95+(random.nextDouble()*0.1));
+            double z = p.getZ()*(0.95+(random.nextDouble()*0.1));
             Point3D des = new Point3D(x,y,z);
             try {
                 SpaceEntity sp = RailGunBoltFactory.build(getColorSt(), 30.0, 0.0, 1.0, 10.0, 200.0, getLocation(), des);
@@ -309,6 +354,7 @@ public class SpacePort implements SpaceEntity
         
         if (destroyed == true)
         {
+            myMover.detonate();
             try {
                 DebrisCloud dc = DebrisCloudFactory.build(2, 200, "YELLOW", getLocation(), true);
                 EntityManager.getInstance().addEntity(dc);
@@ -326,7 +372,7 @@ public class SpacePort implements SpaceEntity
             while(itr.hasNext())
             {
                 SpaceEntity sp = itr.next();
-                sp.applyDamage(Math.random()*1500.0);
+                sp.applyDamage(EntityManager.getInstance().random().nextDouble()*1500.0);
             }
         }
     }
@@ -344,4 +390,13 @@ public class SpacePort implements SpaceEntity
     public boolean isTargetable() {
         return true;
     }
+
+    /**
+     * Releases the SpacePort's movement storage and handle.
+     */
+    public void release()
+    {
+        myMover.release();
+        myId.release();
+    }
 }
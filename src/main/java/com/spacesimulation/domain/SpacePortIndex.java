@@ -0,0 +1,301 @@
+package com.spacesimulation.domain;
+
+import com.spacesimulation.utils.Faction;
+import com.spacesimulation.utils.Point3D;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A class that answers nearest SpacePort queries.  SpacePorts are kept in one
+ * k-d tree per side so a lookup only visits a logarithmic number of ports.
+ * SpacePorts barely move, so a side's tree is only rebuilt when one of its ports
+ * is added or removed or once its ports have drifted too far from where they
+ * were when the tree was built.  Until then the drift is used as slack when
+ * pruning, so the answers stay exact.
+ * <p>
+ * Distances are measured to where the ports were at the last refresh, which
+ * the EntityManager calls right before it freezes the locations for a tick, so
+ * the answers match the frozen locations the rest of the read phase sees.  The
+ * queries take no lock and can run on every update thread at once; add, remove
+ * and refresh must not run at the same time as them.
+ * @author Steven Muschler
+ */
+
+public class SpacePortIndex
+{
+    /**
+     * How far a SpacePort may drift from its indexed location before its side's tree is rebuilt.
+     */
+    private static final double REBUILD_DRIFT = 10.0;
+
+    private final Map<Faction, KdTree> trees = new HashMap<Faction, KdTree>();
+
+    /**
+     * Adds a SpacePort to the tree of its side.
+     * @param port The SpacePort to add.
+     */
+    public synchronized void add(SpaceEntity port)
+    {
+        KdTree tree = trees.get(port.getFaction());
+        if (tree == null)
+        {
+            tree = new KdTree();
+            trees.put(port.getFaction(), tree);
+        }
+        tree.ports.add(port);
+        tree.dirty = true;
+    }
+
+    /**
+     * Removes a SpacePort from the tree of its side.
+     * @param port The SpacePort to remove.
+     */
+    public synchronized void remove(SpaceEntity port)
+    {
+        KdTree tree = trees.get(port.getFaction());
+        if (tree != null && tree.ports.remove(port))
+        {
+            if (tree.ports.isEmpty())
+                trees.remove(port.getFaction());
+            else
+                tree.dirty = true;
+        }
+    }
+
+    /**
+     * Records where the SpacePorts are now, measures how far they have drifted
+     * since their trees were built and rebuilds the trees that have changed too
+     * much.  Called once per tick.
+     */
+    public synchronized void refresh()
+    {
+        for (KdTree tree : trees.values())
+        {
+            if (!tree.dirty)
+                tree.measureDrift();
+            if (tree.dirty || tree.drift > REBUILD_DRIFT)
+                tree.build();
+        }
+    }
+
+    /**
+     * @param p The point to search from.
+     * @return The nearest SpacePort of any side, or null if there are none.
+     */
+    public SpaceEntity nearest(Point3D p)
+    {
+        Search search = new Search(Double.MAX_VALUE);
+        for (KdTree tree : trees.values())
+            nearest(tree, p, search);
+        return search.best;
+    }
+
+    /**
+     * @param p The point to search from.
+     * @param side The side of the SpacePort.
+     * @return The nearest SpacePort on side, or null if side has none.
+     */
+    public SpaceEntity nearest(Point3D p, Faction side)
+    {
+        KdTree tree = trees.get(side);
+        if (tree == null)
+            return null;
+        Search search = new Search(Double.MAX_VALUE);
+        nearest(tree, p, search);
+        return search.best;
+    }
+
+    private void nearest(KdTree tree, Point3D p, Search search)
+    {
+        if (tree.dirty)
+            build(tree);
+        tree.search(p.getX(), p.getY(), p.getZ(), 0, tree.ports.size(), 0, search);
+    }
+
+    /**
+     * Builds a tree that a SpacePort was added to or removed from since the last
+     * refresh, for queries made outside of a tick.
+     */
+    private synchronized void build(KdTree tree)
+    {
+        if (tree.dirty)
+            tree.build();
+    }
+
+    /**
+     * The state of one query: the nearest SpacePort found so far and its distance.
+     */
+    private static class Search
+    {
+        private SpaceEntity best;
+        private double bestDist;
+
+        private Search(double limit)
+        {
+            bestDist = limit;
+        }
+    }
+
+    /**
+     * A k-d tree over one side's SpacePorts stored in implicit form: the node for
+     * the range [lo, hi) is at (lo + hi) / 2 and splits on axis depth % 3.
+     */
+    private static class KdTree
+    {
+        private final ArrayList<SpaceEntity> ports = new ArrayList<SpaceEntity>();
+        private SpaceEntity[] nodes = new SpaceEntity[0];
+        private double[][] coords = new double[3][0];
+
+        /**
+         * Where each node's SpacePort was at the last refresh, in node order.
+         */
+        private double[][] at = new double[3][0];
+        private volatile boolean dirty = true;
+        private double drift;
+
+        private void build()
+        {
+            int n = ports.size();
+            if (nodes.length < n)
+            {
+                nodes = new SpaceEntity[n];
+                coords = new double[3][n];
+                at = new double[3][n];
+            }
+            for (int i = 0; i < n; i++)
+            {
+                Point3D p = ports.get(i).getLocation();
+                nodes[i] = ports.get(i);
+                coords[0][i] = p.getX();
+                coords[1][i] = p.getY();
+                coords[2][i] = p.getZ();
+            }
+            for (int i = n; i < nodes.length; i++)
+                nodes[i] = null;
+            build(0, n, 0);
+            for (int a = 0; a < 3; a++)
+                System.arraycopy(coords[a], 0, at[a], 0, n);
+            drift = 0.0;
+            dirty = false;
+        }
+
+        private void build(int lo, int hi, int depth)
+        {
+            if (hi - lo <= 1)
+                return;
+            int mid = (lo + hi) >>> 1;
+            select(lo, hi - 1, mid, depth % 3);
+            build(lo, mid, depth + 1);
+            build(mid + 1, hi, depth + 1);
+        }
+
+        /**
+         * Quickselect: partitions [lo, hi] so the k-th smallest on axis ends up at k.
+         */
+        private void select(int lo, int hi, int k, int axis)
+        {
+            double[] c = coords[axis];
+            while (lo < hi)
+            {
+                double pivot = c[(lo + hi) >>> 1];
+                int i = lo;
+                int j = hi;
+                while (i <= j)
+                {
+                    while (c[i] < pivot)
+                        i++;
+                    while (c[j] > pivot)
+                        j--;
+                    if (i <= j)
+                    {
+                        swap(i, j);
+                        i++;
+                        j--;
+                    }
+                }
+                if (k <= j)
+                    hi = j;
+                else if (k >= i)
+                    lo = i;
+                else
+                    return;
+            }
+        }
+
+        private void swap(int i, int j)
+        {
+            SpaceEntity t = nodes[i];
+            nodes[i] = nodes[j];
+            nodes[j] = t;
+            for (int a = 0; a < 3; a++)
+            {
+                double d = coords[a][i];
+                coords[a][i] = coords[a][j];
+                coords[a][j] = d;
+            }
+        }
+
+        private void measureDrift()
+        {
+            double max = 0.0;
+            int n = ports.size();
+            for (int i = 0; i < n; i++)
+            {
+                Point3D p = nodes[i].getLocation();
+                at[0][i] = p.getX();
+                at[1][i] = p.getY();
+                at[2][i] = p.getZ();
+                double d = p.distance(coords[0][i], coords[1][i], coords[2][i]);
+                if (d > max)
+                    max = d;
+            }
+            drift = max;
+        }
+
+        /**
+         * Searches [lo, hi) for SpacePorts closer to (x, y, z) than the best found so far.
+         */
+        private void search(double x, double y, double z, int lo, int hi, int depth, Search search)
+        {
+            if (lo >= hi)
+                return;
+            int mid = (lo + hi) >>> 1;
+
+            double xD = at[0][mid] - x;
+            double yD = at[1][mid] - y;
+            double zD = at[2][mid] - z;
+            double dist = Math.sqrt(xD * xD + yD * yD + zD * zD);
+            if (dist < search.bestDist)
+            {
+                search.bestDist = dist;
+                search.best = nodes[mid];
+            }
+
+            int axis = depth % 3;
+            double diff = axisOf(x, y, z, axis) - coords[axis][mid];
+            if (diff < 0)
+            {
+                search(x, y, z, lo, mid, depth + 1, search);
+                if (-diff - drift < search.bestDist)
+                    search(x, y, z, mid + 1, hi, depth + 1, search);
+            }
+            else
+            {
+                search(x, y, z, mid + 1, hi, depth + 1, search);
+                if (diff - drift < search.bestDist)
+                    search(x, y, z, lo, mid, depth + 1, search);
+            }
+        }
+
+        private static double axisOf(double x, double y, double z, int axis)
+        {
+            if (axis == 0)
+                return x;
+            else if (axis == 1)
+                return y;
+            else
+                return z;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.spacesimulation.domain;
+
+import com.spacesimulation.utils.Point3D;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * A interface that represents a spatial index over the SpaceEntities.
+ * EntityManager uses it to narrow its range queries down to the entities
+ * that are near the point being queried.
+ * @author Steven Muschler
+ */
+
+public interface SpatialIndex
+{
+    /**
+     * Rebuilds the index from scratch.  Called once per tick.
+     * @param entities The SpaceEntities to index.
+     * @param xSize The size of space along the x axis.
+     * @param ySize The size of space along the y axis.
+     * @param zSize The size of space along the z axis.
+     */
+    void rebuild(Collection<SpaceEntity> entities, int xSize, int ySize, int zSize);
+
+    /**
+     * Adds a SpaceEntity that was created after the last rebuild.
+     * @param sp The SpaceEntity to add.
+     */
+    void insert(SpaceEntity sp);
+
+    /**
+     * Collects the SpaceEntities that may be within radius of center.  The
+     * results are candidates only, callers still need to check the distance.
+     * @param center The point being queried.
+     * @param radius The range of the query.
+     * @param results The list that the candidates are added to.
+     * @see com.spacesimulation.utils.Point3D
+     */
+    void query(Point3D center, double radius, List<SpaceEntity> results);
+}
@@ -0,0 +1,194 @@
+package com.spacesimulation.domain;
+
+import com.spacesimulation.utils.LatencyHistogram;
+
+/**
+ * A class that collects how long ticks and their phases take and how far the
+ * UpdateLoop has fallen behind its schedule.  The UpdateLoop records into it
+ * once per tick; any thread may read it.
+ * Radar and detonation are the time spent in those queries.  Radar queries run
+ * inside the update phase and detonations inside the commit phase, so they are
+ * also counted there, and radar time is summed over all update threads.
+ * @author Steven Muschler
+ */
+
+public class TickStatistics
+{
+    public static final int REBUILD = 0;
+    public static final int MOVE = 1;
+    public static final int UPDATE = 2;
+    public static final int RADAR = 3;
+    public static final int DETONATION = 4;
+    public static final int COMMIT = 5;
+    public static final int PUBLISH = 6;
+    public static final int SUMMARY = 7;
+
+    private static final String[] PHASE_NAMES = {"rebuild", "move", "update", "radar", "detonation", "commit", "publish", "summary"};
+
+    private final LatencyHistogram[] phases = new LatencyHistogram[PHASE_NAMES.length];
+    private final LatencyHistogram ticks = new LatencyHistogram();
+    private long overruns;
+    private long lag;
+    private long maxLag;
+
+    /**
+     * TickStatistics' Constructor.
+     */
+    public TickStatistics()
+    {
+        for (int i = 0; i < phases.length; i++)
+            phases[i] = new LatencyHistogram();
+    }
+
+    /**
+     * @return The number of phases.
+     */
+    public static int numPhases()
+    {
+        return PHASE_NAMES.length;
+    }
+
+    /**
+     * @param phase One of the phase constants.
+     * @return The name of the phase.
+     */
+    public static String phaseName(int phase)
+    {
+        return PHASE_NAMES[phase];
+    }
+
+    /**
+     * Records one tick.
+     * @param phaseNanos The time spent in each phase, indexed by the phase constants.
+     * @param tickNanos The time the whole tick took.
+     * @param overrun Whether the tick took longer than the time it was given.
+     */
+    public synchronized void recordTick(long[] phaseNanos, long tickNanos, boolean overrun)
+    {
+        for (int i = 0; i < phases.length; i++)
+            phases[i].record(phaseNanos[i]);
+        ticks.record(tickNanos);
+        if (overrun)
+            overruns++;
+    }
+
+    /**
+     * Records how far behind its schedule the UpdateLoop is.
+     * @param lagMillis How many milliseconds late the next tick starts.  0 when on time.
+     */
+    public synchronized void recordLag(long lagMillis)
+    {
+        lag = lagMillis;
+        if (lagMillis > maxLag)
+            maxLag = lagMillis;
+    }
+
+    /**
+     * @return The number of recorded ticks.
+     */
+    public synchronized long getTicks()
+    {
+        return ticks.getCount();
+    }
+
+    /**
+     * @param percentile The percentile, between 0 and 100.
+     * @return The tick duration at percentile, in nanoseconds.
+     */
+    public synchronized long getTickPercentile(double percentile)
+    {
+        return ticks.getPercentile(percentile);
+    }
+
+    /**
+     * @return The longest tick, in nanoseconds.
+     */
+    public synchronized long getTickMax()
+    {
+        return ticks.getMax();
+    }
+
+    /**
+     * @param phase One of the phase constants.
+     * @param percentile The percentile, between 0 and 100.
+     * @return The duration of phase at percentile, in nanoseconds.
+     */
+    public synchronized long getPhasePercentile(int phase, double percentile)
+    {
+        return phases[phase].getPercentile(percentile);
+    }
+
+    /**
+     * @param phase One of the phase constants.
+     * @return The longest time spent in phase in one tick, in nanoseconds.
+     */
+    public synchronized long getPhaseMax(int phase)
+    {
+        return phases[phase].getMax();
+    }
+
+    /**
+     * @param phase One of the phase constants.
+     * @return The total time spent in phase, in nanoseconds.
+     */
+    public synchronized long getPhaseTotal(int phase)
+    {
+        return phases[phase].getTotal();
+    }
+
+    /**
+     * @return The number of ticks that took longer than the time they were given.
+     */
+    public synchronized long getOverruns()
+    {
+        return overruns;
+    }
+
+    /**
+     * @return How many milliseconds behind its schedule the UpdateLoop currently is.
+     */
+    public synchronized long getLag()
+    {
+        return lag;
+    }
+
+    /**
+     * @return The furthest the UpdateLoop has been behind its schedule, in milliseconds.
+     */
+    public synchronized long getMaxLag()
+    {
+        return maxLag;
+    }
+
+    /**
+     * Forgets everything recorded so far.
+     */
+    public synchronized void reset()
+    {
+        for (int i = 0; i < phases.length; i++)
+            phases[i].reset();
+        ticks.reset();
+        overruns = 0;
+        lag = 0;
+        maxLag = 0;
+    }
+
+    /**
+     * @return A multi-line report of the tick and phase p50/p99/max in milliseconds, the overruns and the lag.
+     */
+    public synchronized String report()
+    {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%d ticks, %d overruns, lag %d ms (max %d ms)%n", ticks.getCount(), overruns, lag, maxLag));
+        appendLine(sb, "tick", ticks);
+        for (int i = 0; i < phases.length; i++)
+            appendLine(sb, PHASE_NAMES[i], phases[i]);
+        return sb.toString();
+    }
+
+    private static void appendLine(StringBuilder sb, String name, LatencyHistogram h)
+    {
+        sb.append(String.format("  %-10s p50 %8.3f  p99 %8.3f  max %8.3f ms%n", name,
+                                h.getPercentile(50) / 1e6, h.getPercentile(99) / 1e6, h.getMax() / 1e6));
+    }
+}
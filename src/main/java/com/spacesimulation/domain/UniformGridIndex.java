@@ -0,0 +1,173 @@
+package com.spacesimulation.domain;
+
+import com.spacesimulation.utils.Point3D;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * A SpatialIndex that buckets SpaceEntities into a uniform 3D grid of cubic cells.
+ * Entities are sorted into their cells with a counting sort, so a rebuild is
+ * linear in the number of entities and a query only visits the cells that
+ * overlap the queried range.
+ * @author Steven Muschler
+ */
+
+public class UniformGridIndex implements SpatialIndex
+{
+    private final double cellSize;
+    private final double slack;
+
+    private int nx;
+    private int ny;
+    private int nz;
+
+    /**
+     * cellStart[c] to cellStart[c + 1] is the range of cellItems that fall in cell c.
+     */
+    private int[] cellStart = new int[1];
+    private int[] cellFill = new int[0];
+    private SpaceEntity[] cellItems = new SpaceEntity[0];
+
+    private SpaceEntity[] entries = new SpaceEntity[64];
+    private int[] entryCell = new int[64];
+
+    /**
+     * pending stores the SpaceEntities added since the last rebuild.  They are
+     * checked by every query until the next rebuild puts them in a cell.
+     */
+    private final Queue<SpaceEntity> pending = new ConcurrentLinkedQueue<SpaceEntity>();
+
+    /**
+     * UniformGridIndex's Constructor.
+     * @param cellSize The length of a side of each cell.
+     * @param slack The furthest a SpaceEntity can travel between rebuilds.  Queries are widened by it.
+     */
+    public UniformGridIndex(double cellSize, double slack)
+    {
+        this.cellSize = cellSize;
+        this.slack = slack;
+    }
+
+    /**
+     * Rebuilds the grid from the current location of every SpaceEntity.
+     * @param entities The SpaceEntities to index.
+     * @param xSize The size of space along the x axis.
+     * @param ySize The size of space along the y axis.
+     * @param zSize The size of space along the z axis.
+     */
+    public void rebuild(Collection<SpaceEntity> entities, int xSize, int ySize, int zSize)
+    {
+        nx = Math.max(1, (int) Math.ceil(xSize / cellSize));
+        ny = Math.max(1, (int) Math.ceil(ySize / cellSize));
+        nz = Math.max(1, (int) Math.ceil(zSize / cellSize));
+        int numCells = nx * ny * nz;
+        if (cellStart.length != numCells + 1)
+        {
+            cellStart = new int[numCells + 1];
+            cellFill = new int[numCells];
+        }
+        else
+            Arrays.fill(cellStart, 0);
+
+        pending.clear();
+
+        int count = 0;
+        for (SpaceEntity sp : entities)
+        {
+            if (count == entries.length)
+            {
+                entries = Arrays.copyOf(entries, count * 2);
+                entryCell = Arrays.copyOf(entryCell, count * 2);
+            }
+            Point3D p = sp.getLocation();
+            int c = cellOf(p.getX(), p.getY(), p.getZ());
+            entries[count] = sp;
+            entryCell[count] = c;
+            cellStart[c + 1]++;
+            count++;
+        }
+
+        for (int c = 0; c < numCells; c++)
+            cellStart[c + 1] += cellStart[c];
+
+        if (cellItems.length < count)
+            cellItems = new SpaceEntity[entries.length];
+        else
+            Arrays.fill(cellItems, count, cellItems.length, null);
+
+        System.arraycopy(cellStart, 0, cellFill, 0, numCells);
+        for (int i = 0; i < count; i++)
+        {
+            cellItems[cellFill[entryCell[i]]++] = entries[i];
+            entries[i] = null;
+        }
+    }
+
+    /**
+     * Adds a SpaceEntity to the pending list until the next rebuild.
+     * @param sp The SpaceEntity to add.
+     */
+    public void insert(SpaceEntity sp)
+    {
+        pending.add(sp);
+    }
+
+    /**
+     * Collects every SpaceEntity in the cells that overlap the cube around center,
+     * plus any SpaceEntities added since the last rebuild.
+     * @param center The point being queried.
+     * @param radius The range of the query.
+     * @param results The list that the candidates are added to.
+     */
+    public void query(Point3D center, double radius, List<SpaceEntity> results)
+    {
+        if (nx > 0)
+        {
+            double reach = radius + slack;
+            int x0 = clamp((int) Math.floor((center.getX() - reach) / cellSize), nx);
+            int x1 = clamp((int) Math.floor((center.getX() + reach) / cellSize), nx);
+            int y0 = clamp((int) Math.floor((center.getY() - reach) / cellSize), ny);
+            int y1 = clamp((int) Math.floor((center.getY() + reach) / cellSize), ny);
+            int z0 = clamp((int) Math.floor((center.getZ() - reach) / cellSize), nz);
+            int z1 = clamp((int) Math.floor((center.getZ() + reach) / cellSize), nz);
+
+            for (int z = z0; z <= z1; z++)
+            {
+                for (int y = y0; y <= y1; y++)
+                {
+                    int row = (z * ny + y) * nx;
+                    int from = cellStart[row + x0];
+                    int to = cellStart[row + x1 + 1];
+                    for (int i = from; i < to; i++)
+                        results.add(cellItems[i]);
+                }
+            }
+        }
+
+        for (SpaceEntity sp : pending)
+            results.add(sp);
+    }
+
+    private int cellOf(double x, double y, double z)
+    {
+        int cx = clamp((int) Math.floor(x / cellSize), nx);
+        int cy = clamp((int) Math.floor(y / cellSize), ny);
+        int cz = clamp((int) Math.floor(z / cellSize), nz);
+        return (cz * ny + cy) * nx + cx;
+    }
+
+    /**
+     * Entities outside of space (bolts aimed just past the edge) are kept in the border cells.
+     */
+    private static int clamp(int cell, int numCells)
+    {
+        if (cell < 0)
+            return 0;
+        if (cell >= numCells)
+            return numCells - 1;
+        return cell;
+    }
+}
@@ -5,6 +5,7 @@ import com.spacesimulation.exceptions.ColorNotFoundException;
 import com.spacesimulation.exceptions.InvalidDoubleException;
 import com.spacesimulation.exceptions.InvalidIntegerException;
 import com.spacesimulation.exceptions.NullObjectException;
+import com.spacesimulation.utils.Faction;
 /**
  * Single point of creation for CargoShip objects.
  * @author Steven Muschler
@@ -27,4 +28,18 @@ public class CargoShipFactory {
     {
         return new CargoShip(c, ang, sp, mStrength, clouds);
     }
+    
+    /**
+     * Calls the CargoShip constructor for values that have already been checked.
+     * @param side The side the CargoShip is to be on.
+     * @param ang The angle of the CargoShip.
+     * @param sp The speed of the CargoShip.
+     * @param mStrength The maximum strength of the CargoShip.
+     * @param clouds The number of DebrisClouds the CargoShip is initiated with.
+     * @return The new CargoShip object.
+     */
+    public static CargoShip build(Faction side, double ang, double sp, double mStrength, int clouds)
+    {
+        return new CargoShip(side, ang, sp, mStrength, clouds);
+    }
 }
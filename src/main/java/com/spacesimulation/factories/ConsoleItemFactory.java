@@ -1,10 +1,11 @@
 package com.spacesimulation.factories;
 
 import com.spacesimulation.display.ConsoleItem;
+import com.spacesimulation.display.InfoTextSource;
 import java.awt.Color;
 import com.spacesimulation.utils.ConsoleItemImpl;
 import com.spacesimulation.utils.Point3D;
-import com.spacesimulation.utils.PolygonPlus;
+import com.spacesimulation.utils.ShapeTemplate;
 
 /**
  * Single point of ConsoleItem creation.
@@ -14,18 +15,36 @@ public class ConsoleItemFactory
 {
     /**
      * Calls the ConsoleItemImpl Constructor.
-     * @param idIn The String id of the object.
+     * @param handleIn The handle of the object.
      * @param loc The location of the object.
      * @param c The Color of the object.
      * @param ang The object's angle of travel.
-     * @param poly The object's Polygon.
-     * @param txt The object's informational text.
+     * @param poly The object's outline.
+     * @param txt The source of the object's informational text.  It is read only when the text is shown.
      * @param des Whether the object is destroyed or not.
      * @param dam Whether the object is damaged or not.
      * @return The new ConsoleItem.
      */
-    public static ConsoleItem createConsoleItem(String idIn, Point3D loc, Color c, double ang, PolygonPlus poly, String txt, boolean des, boolean dam)
+    public static ConsoleItem createConsoleItem(int handleIn, Point3D loc, Color c, double ang, ShapeTemplate poly, InfoTextSource txt, boolean des, boolean dam)
     {
-        return new ConsoleItemImpl(idIn, loc, c, ang, poly, txt, des, dam);
+        return new ConsoleItemImpl(handleIn, loc, c, ang, poly, txt, des, dam, false);
     }    
+
+    /**
+     * Calls the ConsoleItemImpl Constructor.
+     * @param handleIn The handle of the object.
+     * @param loc The location of the object.
+     * @param c The Color of the object.
+     * @param ang The object's angle of travel.
+     * @param poly The object's outline.
+     * @param txt The source of the object's informational text.  It is read only when the text is shown.
+     * @param des Whether the object is destroyed or not.
+     * @param dam Whether the object is damaged or not.
+     * @param agg Whether the object may be drawn merged with its neighbours when the view is zoomed out.
+     * @return The new ConsoleItem.
+     */
+    public static ConsoleItem createConsoleItem(int handleIn, Point3D loc, Color c, double ang, ShapeTemplate poly, InfoTextSource txt, boolean des, boolean dam, boolean agg)
+    {
+        return new ConsoleItemImpl(handleIn, loc, c, ang, poly, txt, des, dam, agg);
+    }
 }
@@ -5,6 +5,7 @@ import com.spacesimulation.exceptions.ColorNotFoundException;
 import com.spacesimulation.exceptions.InvalidDoubleException;
 import com.spacesimulation.exceptions.InvalidIntegerException;
 import com.spacesimulation.exceptions.NullObjectException;
+import com.spacesimulation.utils.ObjectPool;
 import com.spacesimulation.utils.Point3D;
 
 /**
@@ -14,7 +15,12 @@ import com.spacesimulation.utils.Point3D;
 public class DebrisCloudFactory 
 {
     /**
-     * Calls the DebrisCloud Constructor.
+     * pool keeps DebrisClouds that have been removed from the simulation, to be reinitialised instead of allocating new ones.
+     */
+    private static final ObjectPool<DebrisCloud> pool = new ObjectPool<DebrisCloud>(4096);
+    
+    /**
+     * Reinitialises a recycled DebrisCloud, or calls the DebrisCloud Constructor if there is none.
      * @param sFactor The size factor of the DebrisCloud.
      * @param dTime The duration time of the DebrisCloud.
      * @param color The String representation of the color of the DebrisCloud.
@@ -28,6 +34,19 @@ public class DebrisCloudFactory
      */
     public static DebrisCloud build(double sFactor, int dTime, String color, Point3D loc, boolean tar) throws InvalidDoubleException, InvalidIntegerException, ColorNotFoundException, NullObjectException
     {
-        return new DebrisCloud(sFactor, dTime, color, loc, tar);
+        DebrisCloud spare = pool.acquire();
+        if (spare == null)
+            return new DebrisCloud(sFactor, dTime, color, loc, tar);
+        spare.reinitialize(sFactor, dTime, color, loc, tar);
+        return spare;
+    }
+    
+    /**
+     * Keeps a DebrisCloud that has been removed from the simulation so build can reuse it.
+     * @param cloud The DebrisCloud.  It must already be released.
+     */
+    public static void recycle(DebrisCloud cloud)
+    {
+        pool.recycle(cloud);
     } 
 }
@@ -5,6 +5,7 @@ import com.spacesimulation.exceptions.ColorNotFoundException;
 import com.spacesimulation.exceptions.InvalidDoubleException;
 import com.spacesimulation.exceptions.InvalidIntegerException;
 import com.spacesimulation.exceptions.NullObjectException;
+import com.spacesimulation.utils.Faction;
 
 /**
  * Single point of FighterShip creation.
@@ -29,4 +30,18 @@ public class FighterShipFactory
     {
         return new FighterShip(color, ang, sp, mStrength, missiles);
     }
+    
+    /**
+     * Calls the FighterShip constructor for values that have already been checked.
+     * @param side The side of the FighterShip.
+     * @param ang The angle of the FighterShip.
+     * @param sp The speed of the FighterShip.
+     * @param mStrength The maximum strength of the FighterShip.
+     * @param missiles The number of GuidedMissiles the FighterShip has.
+     * @return The new FighterShip object.
+     */
+    public static FighterShip build(Faction side, double ang, double sp, double mStrength, int missiles)
+    {
+        return new FighterShip(side, ang, sp, mStrength, missiles);
+    }
 }
@@ -5,6 +5,7 @@ import com.spacesimulation.exceptions.ColorNotFoundException;
 import com.spacesimulation.exceptions.InvalidDoubleException;
 import com.spacesimulation.exceptions.InvalidIntegerException;
 import com.spacesimulation.exceptions.NullObjectException;
+import com.spacesimulation.utils.ObjectPool;
 import com.spacesimulation.utils.Point3D;
 
 /**
@@ -14,11 +15,16 @@ import com.spacesimulation.utils.Point3D;
 public class GuidedMissileFactory 
 {
     /**
-     * Calls the GuidedMissile Constructor.
+     * pool keeps GuidedMissiles that have been removed from the simulation, to be reinitialised instead of allocating new ones.
+     */
+    private static final ObjectPool<GuidedMissile> pool = new ObjectPool<GuidedMissile>(4096);
+    
+    /**
+     * Reinitialises a recycled GuidedMissile, or calls the GuidedMissile Constructor if there is none.
      * @param side The side/color that the GuidedMissile is on.
      * @param loc The location of the GuidedMissile.
      * @param des The destination of the GuidedMissile.
-     * @param tarId The String id of the object the GuidedMissile is targeting.
+     * @param target The handle of the object the GuidedMissile is targeting.
      * @param speed The speed of the GuidedMissile.
      * @param angle The angle of the GuidedMissile.
      * @param maxSt The maximum strength of the GuidedMissile.
@@ -31,8 +37,21 @@ public class GuidedMissileFactory
      * @throws ColorNotFoundException thrown if side does not exist.
      * @throws NullObjectException thrown if side is null.
      */
-    public static GuidedMissile build(String side, Point3D loc, Point3D des, String tarId, double speed, double angle, double maxSt, double detRange, double dam, int dur) throws InvalidDoubleException, InvalidIntegerException, ColorNotFoundException, NullObjectException
+    public static GuidedMissile build(String side, Point3D loc, Point3D des, int target, double speed, double angle, double maxSt, double detRange, double dam, int dur) throws InvalidDoubleException, InvalidIntegerException, ColorNotFoundException, NullObjectException
+    {
+        GuidedMissile spare = pool.acquire();
+        if (spare == null)
+            return new GuidedMissile(side, loc, des, target, speed, angle, maxSt, detRange, dam, dur);
+        spare.reinitialize(side, loc, des, target, speed, angle, maxSt, detRange, dam, dur);
+        return spare;
+    }
+    
+    /**
+     * Keeps a GuidedMissile that has been removed from the simulation so build can reuse it.
+     * @param missile The GuidedMissile.  It must already be released.
+     */
+    public static void recycle(GuidedMissile missile)
     {
-        return new GuidedMissile(side, loc, des, tarId, speed, angle, maxSt, detRange, dam, dur);
+        pool.recycle(missile);
     }
 }
@@ -2,6 +2,7 @@ package com.spacesimulation.factories;
 
 import com.spacesimulation.exceptions.ColorNotFoundException;
 import com.spacesimulation.exceptions.NullObjectException;
+import com.spacesimulation.utils.Faction;
 import com.spacesimulation.utils.Identifiable;
 import com.spacesimulation.utils.IdentifiableImpl;
 
@@ -23,4 +24,15 @@ public class IdentifiableImplFactory
     {
         return new IdentifiableImpl(color, shipType);
     }
+    
+    /**
+     * Calls the constructor for a side that has already been looked up.
+     * @param faction The side of the object that owns the reference to the Impl.
+     * @param shipType The type of SpaceEntity that owns the reference to the Impl.
+     * @return An IdentifiableImpl.
+     */
+    public static Identifiable createIdentifiableImpl(Faction faction, String shipType)
+    {
+        return new IdentifiableImpl(faction, shipType);
+    }
 }
@@ -1,10 +1,14 @@
 package com.spacesimulation.factories;
 
+import com.spacesimulation.domain.EntityKind;
 import com.spacesimulation.exceptions.InvalidDoubleException;
 import com.spacesimulation.utils.Movable;
 import com.spacesimulation.utils.MovableSpaceCraftImpl;
 import com.spacesimulation.utils.MovableWeaponImpl;
+import com.spacesimulation.utils.MovementStore;
 import com.spacesimulation.utils.NullMovableImpl;
+import com.spacesimulation.utils.PackedSpaceCraftImpl;
+import com.spacesimulation.utils.PackedWeaponImpl;
 import com.spacesimulation.utils.Point3D;
 
 /**
@@ -13,23 +17,87 @@ import com.spacesimulation.utils.Point3D;
  */
 public class MovableImplFactory 
 {
+    /**
+     * When set, moving Impls keep their state in these MovementStores instead of in their own Point3Ds.
+     * Weapons come and go far more often than ships, so they get a store of their
+     * own and do not leave the ships' slots scattered with freed ones.
+     */
+    private static volatile MovementStore packedStore;
+    private static volatile MovementStore weaponStore;
+    
+    /**
+     * Switches the Impls created from now on between packed and object storage.
+     * @param packed True to keep movement state in a shared MovementStore.
+     */
+    public static synchronized void setPackedStorage(boolean packed)
+    {
+        if (!packed)
+        {
+            packedStore = null;
+            weaponStore = null;
+        }
+        else if (packedStore == null)
+        {
+            packedStore = new MovementStore();
+            weaponStore = new MovementStore();
+        }
+    }
+    
+    /**
+     * @return The MovementStore used for packed storage of ships, or null if packed storage is off.
+     */
+    public static MovementStore getPackedStore()
+    {
+        return packedStore;
+    }
+    
+    /**
+     * @return The MovementStore used for packed storage of weapons, or null if packed storage is off.
+     */
+    public static MovementStore getPackedWeaponStore()
+    {
+        return weaponStore;
+    }
     
     /**
      * Calls constructors of classes that implement Movable and do not need a set starting location or destination.
-     * @param shipType The type of SpaceEntity that owns the reference to the Impl.
+     * @param kind The kind of SpaceEntity that owns the reference to the Impl.
      * @param spd The speed that the Impl stores.
      * @param angle The angle that the Impl stores.
      * @return A new MovableImpl.
      * @throws InvalidDoubleException thrown if spd < 0. 
      */
-    public static Movable createMovable(String shipType, double spd, double angle) throws InvalidDoubleException
+    public static Movable createMovable(EntityKind kind, double spd, double angle) throws InvalidDoubleException
     {
+        MovementStore store = packedStore;
+        if (store != null)
+            return new PackedSpaceCraftImpl(store, spd, angle);
         return new MovableSpaceCraftImpl(spd, angle);
     }
     
+    /**
+     * createMovable for a speed that has already been checked, such as one from a Scenario.
+     * @param kind The kind of SpaceEntity that owns the reference to the Impl.
+     * @param spd The speed that the Impl stores.
+     * @param angle The angle that the Impl stores.
+     * @return A new MovableImpl.
+     * @throws IllegalArgumentException thrown if spd < 0 after all.
+     */
+    public static Movable createValidMovable(EntityKind kind, double spd, double angle)
+    {
+        try
+        {
+            return createMovable(kind, spd, angle);
+        }
+        catch (InvalidDoubleException ex)
+        {
+            throw new IllegalArgumentException(ex.getMessage());
+        }
+    }
+    
     /**
      * Calls constructors of classes that implement Movable and need a set starting location or destination.
-     * @param shipType The type of SpaceEntity that owns the reference to the Impl.
+     * @param kind The kind of SpaceEntity that owns the reference to the Impl.
      * @param loc The location that the Impl stores.
      * @param dest The destination that the Impl stores.
      * @param spd The speed that the Impl stores.
@@ -37,11 +105,14 @@ public class MovableImplFactory
      * @return A new MovableImpl.
      * @throws InvalidDoubleException InvalidDoubleException thrown if spd < 0. 
      */
-    public static Movable createMovable(String shipType, Point3D loc, Point3D dest, double spd, double angle) throws InvalidDoubleException
+    public static Movable createMovable(EntityKind kind, Point3D loc, Point3D dest, double spd, double angle) throws InvalidDoubleException
     {
-        if (shipType.equalsIgnoreCase("Debris Cloud"))
+        MovementStore store = weaponStore;
+        if (kind == EntityKind.DEBRIS_CLOUD)
             return new NullMovableImpl(spd, angle, loc);
+        else if (store != null)
+            return new PackedWeaponImpl(store, loc, dest, spd, angle);
         else
-            return new MovableWeaponImpl(shipType, loc, dest, spd, angle);
+            return new MovableWeaponImpl(kind.getTypeName(), loc, dest, spd, angle);
     }
 }
@@ -4,6 +4,7 @@ import com.spacesimulation.domain.RailGunBolt;
 import com.spacesimulation.exceptions.ColorNotFoundException;
 import com.spacesimulation.exceptions.InvalidDoubleException;
 import com.spacesimulation.exceptions.NullObjectException;
+import com.spacesimulation.utils.ObjectPool;
 import com.spacesimulation.utils.Point3D;
 
 /**
@@ -13,7 +14,12 @@ import com.spacesimulation.utils.Point3D;
 public class RailGunBoltFactory 
 {
     /**
-     * Calls the RailGunBolt Constructor.
+     * pool keeps RailGunBolts that have been removed from the simulation, to be reinitialised instead of allocating new ones.
+     */
+    private static final ObjectPool<RailGunBolt> pool = new ObjectPool<RailGunBolt>(4096);
+    
+    /**
+     * Reinitialises a recycled RailGunBolt, or calls the RailGunBolt Constructor if there is none.
      * @param side The color/side of the RailGunBolt.
      * @param speed The speed of the RailGunBolt.
      * @param angle The angle of the RailGunBolt.
@@ -29,6 +35,19 @@ public class RailGunBoltFactory
      */
     public static RailGunBolt build(String side, double speed, double angle, double mStrength, double detRange, double dam, Point3D loc, Point3D des) throws InvalidDoubleException, ColorNotFoundException, NullObjectException
     {
-        return new RailGunBolt(side, speed, angle, mStrength, detRange, dam, loc, des);
+        RailGunBolt spare = pool.acquire();
+        if (spare == null)
+            return new RailGunBolt(side, speed, angle, mStrength, detRange, dam, loc, des);
+        spare.reinitialize(side, speed, angle, mStrength, detRange, dam, loc, des);
+        return spare;
+    }
+    
+    /**
+     * Keeps a RailGunBolt that has been removed from the simulation so build can reuse it.
+     * @param bolt The RailGunBolt.  It must already be released.
+     */
+    public static void recycle(RailGunBolt bolt)
+    {
+        pool.recycle(bolt);
     }
 }
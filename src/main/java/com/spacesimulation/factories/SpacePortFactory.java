@@ -4,6 +4,7 @@ import com.spacesimulation.domain.SpacePort;
 import com.spacesimulation.exceptions.ColorNotFoundException;
 import com.spacesimulation.exceptions.InvalidDoubleException;
 import com.spacesimulation.exceptions.NullObjectException;
+import com.spacesimulation.utils.Faction;
 
 /**
  * Single point of SpacePort creation.
@@ -28,5 +29,17 @@ public class SpacePortFactory
     {
         return new SpacePort(c, ang, sp, des, dam, mStrength);
     }
+    
+    /**
+     * Calls the SpacePort Constructor for values that have already been checked.
+     * @param side The side of the SpacePort.
+     * @param ang The angle of the SpacePort.
+     * @param sp The speed of the SpacePort.
+     * @param mStrength The maximum strength of the SpacePort.
+     * @return The new SpacePort object, neither destroyed nor damaged.
+     */
+    public static SpacePort build(Faction side, double ang, double sp, double mStrength)
+    {
+        return new SpacePort(side, ang, sp, mStrength);
+    }
 }
-
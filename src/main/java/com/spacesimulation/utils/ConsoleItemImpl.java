@@ -1,23 +1,43 @@
 package com.spacesimulation.utils;
 
 import com.spacesimulation.display.ConsoleItem;
+import com.spacesimulation.display.InfoTextSource;
 import java.awt.Color;
 
 public class ConsoleItemImpl implements ConsoleItem {
 
-    private String id;
+    private int handle;
     private Point3D location;
     private Color color;
     private double angle;
-    private PolygonPlus polygon;
-    private String infoText;
+    private ShapeTemplate polygon;
+    private InfoTextSource infoText;
     private boolean destroyed;
     private boolean damaged = false;
-
-    public ConsoleItemImpl(String idIn, Point3D loc, Color c, double ang, PolygonPlus poly, String txt, boolean des, boolean dam) {
+    private boolean aggregatable;
+
+    /**
+     * Where the item this one replaced was.  moved is false when it was in the
+     * same place at the same angle, or there was none.
+     */
+    private boolean moved;
+    private double previousX;
+    private double previousY;
+    private double previousZ;
+    private double previousAngle;
+    private long tick = -1;
+
+    /**
+     * rendered is the polygon last returned by getPolygon, kept until the location or zSize changes.
+     * One item can be in several captured frames that are drawn on different
+     * threads at once, so the polygon and its zSize are swapped in together.
+     */
+    private volatile Rendered rendered;
+
+    public ConsoleItemImpl(int handleIn, Point3D loc, Color c, double ang, ShapeTemplate poly, InfoTextSource txt, boolean des, boolean dam, boolean agg) {
 
         // We *should* probably be doing some error checking here but since it's a console utility class, we'll accept what we receive.
-        id = idIn;
+        handle = handleIn;
         location = loc;
         color = c;
         angle = ang;
@@ -25,6 +45,7 @@ public class ConsoleItemImpl implements ConsoleItem {
         infoText = txt;
         destroyed = des;
         damaged = dam;
+        aggregatable = agg;
     }
 
     public boolean isDestroyed() {
@@ -35,8 +56,8 @@ public class ConsoleItemImpl implements ConsoleItem {
         return angle;
     }
 
-    public String getId() {
-        return id;
+    public int getHandle() {
+        return handle;
     }
 
     public Point3D getLocation() {
@@ -45,22 +66,97 @@ public class ConsoleItemImpl implements ConsoleItem {
 
     public void setLocation(Point3D p) {
         location = p;
+        rendered = null;
     }
 
     public Color getColor() {
         return color;
     }
 
+    /**
+     * The scaled and rotated outline comes from the ShapeTemplate's cache, so this only translates it.
+     * The returned polygon is reused while the item does not change and must not be modified.
+     */
     public PolygonPlus getPolygon(double zSize) {
-        PolygonPlus pp = new PolygonPlus(polygon);
-        pp.scale(location.getZ() / zSize + 0.2);
-        pp.translate((int) location.getX(), (int) location.getY());
-        pp.rotate(angle);
-        return pp;
+        Rendered r = rendered;
+        if (r == null || r.zSize != zSize) {
+            r = new Rendered(outline(location.getX(), location.getY(), angle, location.getZ() / zSize + 0.2), zSize);
+            rendered = r;
+        }
+        return r.polygon;
+    }
+
+    private PolygonPlus outline(double xIn, double yIn, double ang, double scale) {
+        int[] offsets = polygon.getOffsets(ang, scale);
+        int n = polygon.size();
+        int x = (int) xIn;
+        int y = (int) yIn;
+        int[] xs = new int[n];
+        int[] ys = new int[n];
+        for (int i = 0; i < n; i++) {
+            xs[i] = x + offsets[i];
+            ys[i] = y + offsets[n + i];
+        }
+        return new PolygonPlus(xs, ys, n);
+    }
+
+    public double getRadius(double zSize) {
+        return polygon.getRadius() * (location.getZ() / zSize + 0.2);
+    }
+
+    public void setPrevious(ConsoleItem previous, long tickIn) {
+        tick = tickIn;
+        if (previous == null) {
+            moved = false;
+            return;
+        }
+        Point3D p = previous.getLocation();
+        previousX = p.getX();
+        previousY = p.getY();
+        previousZ = p.getZ();
+        previousAngle = previous.getAngle();
+        moved = previousX != location.getX() || previousY != location.getY()
+                || previousZ != location.getZ() || previousAngle != angle;
+    }
+
+    public long getTick() {
+        return tick;
+    }
+
+    public double getX(double t) {
+        if (!moved || t >= 1.0) {
+            return location.getX();
+        }
+        return previousX + (location.getX() - previousX) * t;
+    }
+
+    public double getY(double t) {
+        if (!moved || t >= 1.0) {
+            return location.getY();
+        }
+        return previousY + (location.getY() - previousY) * t;
+    }
+
+    /**
+     * Only the polygon at t = 1 is kept, since an item between ticks is drawn at a different t every frame.
+     */
+    public PolygonPlus getPolygon(double zSize, double t) {
+        if (!moved || t >= 1.0) {
+            return getPolygon(zSize);
+        }
+        // Turn the short way round.
+        double turn = angle - previousAngle;
+        turn -= 2 * Math.PI * Math.floor((turn + Math.PI) / (2 * Math.PI));
+        double z = previousZ + (location.getZ() - previousZ) * t;
+        return outline(getX(t), getY(t), previousAngle + turn * t, z / zSize + 0.2);
+    }
+
+    public boolean isAggregatable() {
+        return aggregatable;
     }
 
     public String getInfoText() {
-        return infoText;
+        return infoText.getInfoText();
     }
 
     public String toString() {
@@ -74,4 +170,15 @@ public class ConsoleItemImpl implements ConsoleItem {
     public boolean isDamaged() {
         return damaged;
     }
+
+    private static class Rendered {
+
+        private final PolygonPlus polygon;
+        private final double zSize;
+
+        Rendered(PolygonPlus polygon, double zSize) {
+            this.polygon = polygon;
+            this.zSize = zSize;
+        }
+    }
 }
@@ -0,0 +1,76 @@
+package com.spacesimulation.utils;
+
+import com.spacesimulation.exceptions.ColorNotFoundException;
+import com.spacesimulation.exceptions.NullObjectException;
+import com.spacesimulation.factories.ColorFactory;
+import java.awt.Color;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A side in the simulation.  There is exactly one Faction per color, so two
+ * SpaceEntities are on the same side exactly when their Factions are the same object.
+ * @author Steven Muschler
+ */
+public final class Faction
+{
+    private static final ConcurrentMap<String, Faction> FACTIONS = new ConcurrentHashMap<String, Faction>();
+
+    private final String name;
+    private final Color color;
+
+    private Faction(String name, Color color)
+    {
+        this.name = name;
+        this.color = color;
+    }
+
+    /**
+     * @param c The String representation of the side's color, in any case.
+     * @return The Faction of that color.
+     * @throws ColorNotFoundException thrown if c is not in the Color factory.
+     * @throws NullObjectException thrown if c is null.
+     */
+    public static Faction of(String c) throws ColorNotFoundException, NullObjectException
+    {
+        if (c == null)
+            throw new NullObjectException("Recieved null color string.");
+        Faction faction = FACTIONS.get(c);
+        if (faction != null)
+            return faction;
+
+        String name = c.toUpperCase(Locale.ENGLISH);
+        faction = FACTIONS.get(name);
+        if (faction == null)
+        {
+            faction = new Faction(name, ColorFactory.build(name));
+            Faction existing = FACTIONS.putIfAbsent(name, faction);
+            if (existing != null)
+                faction = existing;
+        }
+        FACTIONS.putIfAbsent(c, faction);
+        return faction;
+    }
+
+    /**
+     * @return The upper case name of the side's color.
+     */
+    public String getName()
+    {
+        return name;
+    }
+
+    /**
+     * @return The side's Color.
+     */
+    public Color getColor()
+    {
+        return color;
+    }
+
+    public String toString()
+    {
+        return name;
+    }
+}
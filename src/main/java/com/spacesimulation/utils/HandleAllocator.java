@@ -0,0 +1,125 @@
+package com.spacesimulation.utils;
+
+/**
+ * Hands out compact int handles.  A handle packs a dense index, which is reused
+ * once the handle is released, with a generation that changes every time the
+ * index is reused, so a handle kept after its owner is gone never matches the
+ * index's next owner.  Each thread takes handles from the shared pool in blocks,
+ * so allocating only locks once per block.  Thread safe.
+ * @author Steven Muschler
+ */
+public class HandleAllocator
+{
+    /**
+     * A handle that is never handed out, used for "no handle".
+     */
+    public static final int NONE = 0;
+
+    private static final int INDEX_BITS = 22;
+    private static final int INDEX_MASK = (1 << INDEX_BITS) - 1;
+    private static final int GENERATION_MASK = (1 << (31 - INDEX_BITS)) - 1;
+    private static final int BLOCK_SIZE = 64;
+
+    /**
+     * generations holds the current generation of every index handed out so far.
+     * freeIndexes holds the released indexes that have not been handed out again.
+     * Index 0 is never handed out, so NONE never matches a live handle.
+     */
+    private int[] generations = new int[1024];
+    private int[] freeIndexes = new int[1024];
+    private int numFree;
+    private int nextIndex = 1;
+
+    private final ThreadLocal<Block> blocks = new ThreadLocal<Block>()
+    {
+        protected Block initialValue()
+        {
+            return new Block();
+        }
+    };
+
+    /**
+     * The handles a thread has taken from the shared pool but not handed out yet.
+     */
+    private static class Block
+    {
+        private final int[] handles = new int[BLOCK_SIZE];
+        private int count;
+    }
+
+    /**
+     * @return A handle that is not in use.
+     */
+    public int allocate()
+    {
+        Block block = blocks.get();
+        if (block.count == 0)
+            refill(block);
+        return block.handles[--block.count];
+    }
+
+    /**
+     * Makes a handle stale and lets its index be handed out again.  Releasing a
+     * handle that is already stale does nothing.
+     * @param handle A handle returned by allocate().
+     */
+    public synchronized void release(int handle)
+    {
+        int index = index(handle);
+        if (index == 0 || index >= nextIndex || generations[index] != generation(handle))
+            return;
+
+        generations[index] = (generations[index] + 1) & GENERATION_MASK;
+        if (numFree == freeIndexes.length)
+        {
+            int[] grown = new int[freeIndexes.length * 2];
+            System.arraycopy(freeIndexes, 0, grown, 0, numFree);
+            freeIndexes = grown;
+        }
+        freeIndexes[numFree++] = index;
+    }
+
+    /**
+     * @param handle A handle.
+     * @return The dense index packed into the handle.
+     */
+    public static int index(int handle)
+    {
+        return handle & INDEX_MASK;
+    }
+
+    /**
+     * @param handle A handle.
+     * @return The generation packed into the handle.
+     */
+    public static int generation(int handle)
+    {
+        return handle >>> INDEX_BITS;
+    }
+
+    private synchronized void refill(Block block)
+    {
+        // Released indexes are handed out again before new ones, to keep the indexes dense.
+        while (block.count < BLOCK_SIZE && numFree > 0)
+        {
+            int index = freeIndexes[--numFree];
+            block.handles[block.count++] = (generations[index] << INDEX_BITS) | index;
+        }
+        while (block.count < BLOCK_SIZE)
+        {
+            if (nextIndex > INDEX_MASK)
+            {
+                if (block.count > 0)
+                    return;
+                throw new IllegalStateException("Ran out of handles: " + nextIndex + " are in use.");
+            }
+            if (nextIndex == generations.length)
+            {
+                int[] grown = new int[generations.length * 2];
+                System.arraycopy(generations, 0, grown, 0, nextIndex);
+                generations = grown;
+            }
+            block.handles[block.count++] = nextIndex++;
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.spacesimulation.utils;
 
+import com.spacesimulation.exceptions.ColorNotFoundException;
+import com.spacesimulation.exceptions.NullObjectException;
 import java.awt.Color;
 
 /**
@@ -11,6 +13,11 @@ import java.awt.Color;
 
 public interface Identifiable 
 {
+    /**
+     * @return The object's handle from a HandleAllocator.
+     */
+    int getHandle();
+    
     /**
      * @return String representation of the objects id.
      */
@@ -26,4 +33,23 @@ public interface Identifiable
      * @return String representation of the object's color.
      */
     String getColorSt();
+    
+    /**
+     * @return The side the object is on.
+     */
+    Faction getFaction();
+    
+    /**
+     * Gives the object a new handle, id and color so that its owner can be reused.
+     * @param c The color/side the object is now on.
+     * @param shipType The ship type of the object's owner.
+     * @throws ColorNotFoundException thrown if c does not exist.
+     * @throws NullObjectException thrown if c is null.
+     */
+    void reinitialize(String c, String shipType) throws ColorNotFoundException, NullObjectException;
+    
+    /**
+     * Gives up the object's handle once its owner is gone.
+     */
+    void release();
 }
@@ -1,6 +1,5 @@
 package com.spacesimulation.utils;
 
-import com.spacesimulation.factories.ColorFactory;
 import java.awt.Color;
 import com.spacesimulation.exceptions.ColorNotFoundException;
 import com.spacesimulation.exceptions.NullObjectException;
@@ -12,10 +11,18 @@ import com.spacesimulation.exceptions.NullObjectException;
 
 public class IdentifiableImpl implements Identifiable
 {
+    private static final HandleAllocator handles = new HandleAllocator();
+
+    /**
+     * handle is what the simulation knows the Impl's owner by.  The String id
+     * is only needed for display, so it is built from the handle when first asked for.
+     */
+    private int handle = HandleAllocator.NONE;
     private String id;
+    private String shipType;
     private Color color;
     private String colSt;
-    private static int idGenerator = 1;
+    private Faction faction;
     
     /**
      * IdentifiableImpl's Constructor
@@ -26,9 +33,62 @@ public class IdentifiableImpl implements Identifiable
      */
     public IdentifiableImpl(String c, String shipType) throws ColorNotFoundException, NullObjectException
     {
-        setColorSt(c);
-        color = ColorFactory.build(c);    
-        id = c + " " + shipType + " " + idGenerator++;
+        reinitialize(c, shipType);
+    }
+    
+    /**
+     * IdentifiableImpl's Constructor for a side that has already been looked up.
+     * @param faction The side the Impl is on.
+     * @param shipType The ship type of the object that owns the reference to this Impl.
+     */
+    public IdentifiableImpl(Faction faction, String shipType)
+    {
+        setIdentity(faction.getName(), faction, shipType);
+    }
+    
+    /**
+     * Gives the Impl a new handle, id and color.
+     * @param c The color/side the Impl is now on.
+     * @param shipType The ship type of the object that owns the reference to this Impl.
+     * @throws ColorNotFoundException thrown if c is not in the Color factory.
+     * @throws NullObjectException thrown if c is null
+     */
+    public void reinitialize(String c, String shipType) throws ColorNotFoundException, NullObjectException
+    {
+        setIdentity(c, Faction.of(c), shipType);
+    }
+    
+    private void setIdentity(String c, Faction f, String shipType)
+    {
+        colSt = c;
+        faction = f;
+        color = f.getColor();
+        this.shipType = shipType;
+        // A pooled owner gave its handle up when it was released, so it only holds one if reinitialized while live.
+        if (handle != HandleAllocator.NONE)
+            handles.release(handle);
+        handle = handles.allocate();
+        id = null;
+    }
+    
+    /**
+     * Gives up the Impl's handle, so that it can be handed out again.  The Impl
+     * forgets it, since the handle's generation wraps and a stale release could
+     * one day free the index under its next owner.
+     */
+    public void release()
+    {
+        if (handle != HandleAllocator.NONE)
+            handles.release(handle);
+        handle = HandleAllocator.NONE;
+    }
+    
+    /**
+     * @return The Impl's handle.
+     */
+    public int getHandle()
+    {
+        return handle;
     }
     
     /**
@@ -36,7 +96,16 @@ public class IdentifiableImpl implements Identifiable
      */
     public String getId() 
     {
-        return id;
+        String s = id;
+        if (s == null)
+        {
+            s = colSt + " " + shipType + " " + HandleAllocator.index(handle);
+            int generation = HandleAllocator.generation(handle);
+            if (generation != 0)
+                s += "." + generation;
+            id = s;
+        }
+        return s;
     }
     
     /**
@@ -55,10 +124,11 @@ public class IdentifiableImpl implements Identifiable
         return colSt;
     }
     
-    private void setColorSt(String s) throws NullObjectException
+    /**
+     * @return The side the Impl is on.
+     */
+    public Faction getFaction()
     {
-        if (s == null)
-            throw new NullObjectException("Recieved null color string.");
-        colSt = s;
+        return faction;
     }
 }
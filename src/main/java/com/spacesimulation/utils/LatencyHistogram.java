@@ -0,0 +1,109 @@
+package com.spacesimulation.utils;
+
+/**
+ * A fixed size histogram of durations in nanoseconds.  Each power of two is
+ * split into SUB_BUCKETS linear buckets, so a percentile is reported to within
+ * about 12% while recording stays a couple of shifts and an increment.
+ * Not thread safe.
+ * @author Steven Muschler
+ */
+public class LatencyHistogram
+{
+    private static final int SUB_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+
+    private final long[] counts = new long[64 * SUB_BUCKETS];
+    private long count;
+    private long total;
+    private long max;
+
+    /**
+     * Adds one duration.
+     * @param nanos The duration in nanoseconds.  Negative values count as 0.
+     */
+    public void record(long nanos)
+    {
+        if (nanos < 0)
+            nanos = 0;
+        counts[bucketOf(nanos)]++;
+        count++;
+        total += nanos;
+        if (nanos > max)
+            max = nanos;
+    }
+
+    /**
+     * @return The number of recorded durations.
+     */
+    public long getCount()
+    {
+        return count;
+    }
+
+    /**
+     * @return The sum of the recorded durations in nanoseconds.
+     */
+    public long getTotal()
+    {
+        return total;
+    }
+
+    /**
+     * @return The longest recorded duration in nanoseconds.
+     */
+    public long getMax()
+    {
+        return max;
+    }
+
+    /**
+     * @param percentile The percentile, between 0 and 100.
+     * @return The upper bound of the bucket holding the percentile, in nanoseconds, or 0 if nothing was recorded.
+     */
+    public long getPercentile(double percentile)
+    {
+        if (count == 0)
+            return 0;
+        long rank = (long) Math.ceil(count * percentile / 100.0);
+        if (rank < 1)
+            rank = 1;
+        long seen = 0;
+        for (int b = 0; b < counts.length; b++)
+        {
+            seen += counts[b];
+            if (seen >= rank)
+                return Math.min(upperBoundOf(b), max);
+        }
+        return max;
+    }
+
+    /**
+     * Forgets every recorded duration.
+     */
+    public void reset()
+    {
+        for (int b = 0; b < counts.length; b++)
+            counts[b] = 0;
+        count = 0;
+        total = 0;
+        max = 0;
+    }
+
+    private static int bucketOf(long nanos)
+    {
+        if (nanos < SUB_BUCKETS)
+            return (int) nanos;
+        int exp = 63 - Long.numberOfLeadingZeros(nanos);
+        int sub = (int) (nanos >>> (exp - SUB_BITS)) & (SUB_BUCKETS - 1);
+        return (exp - SUB_BITS + 1) * SUB_BUCKETS + sub;
+    }
+
+    private static long upperBoundOf(int bucket)
+    {
+        if (bucket < SUB_BUCKETS)
+            return bucket;
+        int exp = bucket / SUB_BUCKETS + SUB_BITS - 1;
+        long sub = bucket % SUB_BUCKETS;
+        return ((SUB_BUCKETS + sub + 1) << (exp - SUB_BITS)) - 1;
+    }
+}
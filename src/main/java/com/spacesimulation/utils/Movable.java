@@ -1,5 +1,6 @@
 package com.spacesimulation.utils;
 
+import com.spacesimulation.exceptions.InvalidDoubleException;
 import com.spacesimulation.exceptions.InvalidIntegerException;
 
 /**
@@ -79,4 +80,19 @@ public interface Movable
      * Behavior to be executed if the object is destroyed.
      */
     public void detonate();
+    
+    /**
+     * Releases any shared storage held by the object.  Called once its owner has been removed.
+     */
+    public void release();
+    
+    /**
+     * Restarts a released object at loc, heading for dest, so that its owner can be reused.
+     * @param loc The new location.
+     * @param dest The new destination.
+     * @param spd The new speed.
+     * @param ang The new angle.
+     * @throws InvalidDoubleException thrown if spd < 0.
+     */
+    public void reinitialize(Point3D loc, Point3D dest, double spd, double ang) throws InvalidDoubleException;
 }
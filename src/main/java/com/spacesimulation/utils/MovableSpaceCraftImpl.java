@@ -11,6 +11,16 @@ import com.spacesimulation.domain.EntityManager;
 
 public class MovableSpaceCraftImpl implements Movable
 {
+    /**
+     * The location and destination are kept as coordinates so that moving does not allocate.
+     * location and destination cache the Point3Ds handed out until the coordinates change.
+     */
+    private double x;
+    private double y;
+    private double z;
+    private double destX;
+    private double destY;
+    private double destZ;
     private Point3D location;
     private Point3D destination;
     private double speed;
@@ -26,8 +36,8 @@ public class MovableSpaceCraftImpl implements Movable
     {
         setSpeed(spd);
         setAngle(ang);
-        location = EntityManager.getInstance().createRandomPoint();
-        destination = EntityManager.getInstance().createRandomPoint();
+        setLocation(EntityManager.getInstance().createRandomPoint());
+        setDestination();
     }
     
     /**
@@ -39,29 +49,34 @@ public class MovableSpaceCraftImpl implements Movable
      */
     public void move(int timeInterval) throws InvalidIntegerException 
     {
-        Point3D locationOld = getLocation();
         double distanceTraveled = getSpeed() * timeInterval;
-        double distanceToGo = destination.distance(location);
+        double distanceToGo = distanceToGo();
         
         if (distanceToGo > 0)
         {
             if (distanceTraveled >= distanceToGo)
             {
-                location = new Point3D(destination);
+                x = destX;
+                y = destY;
+                z = destZ;
             }
             else
             {
                 double delta = distanceTraveled / distanceToGo;
-                double newX = location.getX() + (destination.getX() - location.getX()) * delta;
-                double newY = location.getY() + (destination.getY() - location.getY()) * delta;
-                double newZ = location.getZ() + (destination.getZ() - location.getZ()) * delta;
-                location = new Point3D(newX, newY, newZ);
+                double newX = x + (destX - x) * delta;
+                double newY = y + (destY - y) * delta;
+                double newZ = z + (destZ - z) * delta;
                 
-                double nX = location.getX() - locationOld.getX();
-                double nY = location.getY() - locationOld.getY();
+                double nX = newX - x;
+                double nY = newY - y;
                 double newAngle = Math.atan2(nY, nX) + (Math.PI / 2.0);
                 angle = newAngle;
+
+                x = newX;
+                y = newY;
+                z = newZ;
             }
+            location = null;
         }
     }
     
@@ -70,6 +85,8 @@ public class MovableSpaceCraftImpl implements Movable
      */
     public Point3D getLocation() 
     {
+        if (location == null)
+            location = new Point3D(x, y, z);
         return location;
     }
     
@@ -78,6 +95,8 @@ public class MovableSpaceCraftImpl implements Movable
      */
     public Point3D getDestination() 
     {
+        if (destination == null)
+            destination = new Point3D(destX, destY, destZ);
         return destination;
     }
     
@@ -102,7 +121,12 @@ public class MovableSpaceCraftImpl implements Movable
      */
     public void setDestination()
     {
-        destination = EntityManager.getInstance().createRandomPoint();
+        EntityManager em = EntityManager.getInstance();
+        SimulationRandom random = em.random();
+        destX = random.nextDouble() * em.getXSize();
+        destY = random.nextDouble() * em.getYSize();
+        destZ = random.nextDouble() * em.getZSize();
+        destination = null;
     }
     
     /**
@@ -111,6 +135,9 @@ public class MovableSpaceCraftImpl implements Movable
      */
     public void setLocation(Point3D p)
     {
+        x = p.getX();
+        y = p.getY();
+        z = p.getZ();
         location = p;
     }
     
@@ -120,7 +147,7 @@ public class MovableSpaceCraftImpl implements Movable
      */
     public void setDestination(Point3D p) 
     {
-        location = p;
+        setLocation(p);
     }
     
     /**
@@ -128,7 +155,7 @@ public class MovableSpaceCraftImpl implements Movable
      */
     public boolean atDestination()
     {
-        if (location.distance(destination) == 0.0)
+        if (distanceToGo() == 0.0)
         {
             return true;
         }
@@ -138,6 +165,14 @@ public class MovableSpaceCraftImpl implements Movable
         }
     }
     
+    private double distanceToGo()
+    {
+        double xD = destX - x;
+        double yD = destY - y;
+        double zD = destZ - z;
+        return Math.sqrt(xD * xD + yD * yD + zD * zD);
+    }
+    
     private void setSpeed(double d) throws InvalidDoubleException
     {
         if (d < 0)
@@ -159,4 +194,29 @@ public class MovableSpaceCraftImpl implements Movable
      */
     public void detonate() {
     }
+
+    /**
+     * This Impl holds no shared storage, so this method does nothing.
+     */
+    public void release() {
+    }
+
+    /**
+     * Restarts the Impl at loc, heading for dest.
+     * @param loc The new location.
+     * @param dest The new destination.
+     * @param spd The new speed.
+     * @param ang The new angle.
+     * @throws InvalidDoubleException thrown if spd < 0.
+     */
+    public void reinitialize(Point3D loc, Point3D dest, double spd, double ang) throws InvalidDoubleException
+    {
+        setSpeed(spd);
+        setAngle(ang);
+        setLocation(loc);
+        destX = dest.getX();
+        destY = dest.getY();
+        destZ = dest.getZ();
+        destination = dest;
+    }
 }
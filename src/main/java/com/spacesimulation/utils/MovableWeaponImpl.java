@@ -14,6 +14,16 @@ import com.spacesimulation.factories.DebrisCloudFactory;
  */
 public class MovableWeaponImpl implements Movable 
 {
+    /**
+     * The location and destination are kept as coordinates so that moving does not allocate.
+     * location and destination cache the Point3Ds handed out until the coordinates change.
+     */
+    private double x;
+    private double y;
+    private double z;
+    private double destX;
+    private double destY;
+    private double destZ;
     private Point3D location;
     private Point3D destination;
     private double speed;
@@ -32,8 +42,8 @@ public class MovableWeaponImpl implements Movable
      */
     public MovableWeaponImpl(String shipType, Point3D loc, Point3D dest, double speed, double angle) throws InvalidDoubleException
     {
-        location = loc;
-        destination = dest;
+        setLocation(loc);
+        setDestination(dest);
         setSpeed(speed);
         setAngle(angle);
     }
@@ -45,30 +55,39 @@ public class MovableWeaponImpl implements Movable
      */
     public void move(int timeInterval) throws InvalidIntegerException 
     {
-        Point3D locationOld = getLocation();
         double distanceTraveled = getSpeed() * timeInterval;
-        double distanceToGo = destination.distance(location);
+        double xD = destX - x;
+        double yD = destY - y;
+        double zD = destZ - z;
+        double distanceToGo = Math.sqrt(xD * xD + yD * yD + zD * zD);
         
         if (distanceToGo > 0)
         {
             if (distanceTraveled >= distanceToGo)
             {
                 atDestination = true;
-                location = new Point3D(destination);
+                x = destX;
+                y = destY;
+                z = destZ;
+                location = null;
                 detonate();
             }
             else
             {
                 double delta = distanceTraveled / distanceToGo;
-                double newX = location.getX() + (destination.getX() - location.getX()) * delta;
-                double newY = location.getY() + (destination.getY() - location.getY()) * delta;
-                double newZ = location.getZ() + (destination.getZ() - location.getZ()) * delta;
-                location = new Point3D(newX, newY, newZ);
+                double newX = x + xD * delta;
+                double newY = y + yD * delta;
+                double newZ = z + zD * delta;
                 
-                double nX = location.getX() - locationOld.getX();
-                double nY = location.getY() - locationOld.getY();
+                double nX = newX - x;
+                double nY = newY - y;
                 double newAngle = Math.atan2(nY, nX) + (Math.PI / 2.0);
                 angle = newAngle;
+
+                x = newX;
+                y = newY;
+                z = newZ;
+                location = null;
             }
         }
     }
@@ -78,6 +97,8 @@ public class MovableWeaponImpl implements Movable
      */
     public Point3D getLocation() 
     {
+        if (location == null)
+            location = new Point3D(x, y, z);
         return location;
     }
 
@@ -86,6 +107,8 @@ public class MovableWeaponImpl implements Movable
      */
     public Point3D getDestination() 
     {
+        if (destination == null)
+            destination = new Point3D(destX, destY, destZ);
         return destination;
     }
 
@@ -110,7 +133,12 @@ public class MovableWeaponImpl implements Movable
      */
     public void setDestination() 
     {
-        destination = EntityManager.getInstance().createRandomPoint();
+        EntityManager em = EntityManager.getInstance();
+        SimulationRandom random = em.random();
+        destX = random.nextDouble() * em.getXSize();
+        destY = random.nextDouble() * em.getYSize();
+        destZ = random.nextDouble() * em.getZSize();
+        destination = null;
     }
     
     /**
@@ -119,6 +147,9 @@ public class MovableWeaponImpl implements Movable
      */
     public void setLocation(Point3D p)
     {
+        x = p.getX();
+        y = p.getY();
+        z = p.getZ();
         location = p;
     }
     
@@ -128,6 +159,9 @@ public class MovableWeaponImpl implements Movable
      */
     public void setDestination(Point3D p) 
     {
+        destX = p.getX();
+        destY = p.getY();
+        destZ = p.getZ();
         destination = p;
     }
 
@@ -184,4 +218,27 @@ public class MovableWeaponImpl implements Movable
             System.out.println(ex);
         }
     }
+
+    /**
+     * This Impl holds no shared storage, so this method does nothing.
+     */
+    public void release() {
+    }
+
+    /**
+     * Restarts the Impl at loc, heading for dest.
+     * @param loc The location the Impl is storing.
+     * @param dest The destination the Impl is storing.
+     * @param spd The speed the Impl is storing.
+     * @param ang The angle the Impl is storing.
+     * @throws InvalidDoubleException thrown if spd < 0.
+     */
+    public void reinitialize(Point3D loc, Point3D dest, double spd, double ang) throws InvalidDoubleException
+    {
+        setLocation(loc);
+        setDestination(dest);
+        setSpeed(spd);
+        setAngle(ang);
+        atDestination = false;
+    }
 }
@@ -0,0 +1,292 @@
+package com.spacesimulation.utils;
+
+/**
+ * Packed storage for the movement state of many Movables.  Location, destination,
+ * speed and angle are kept in parallel double arrays indexed by a dense slot
+ * instead of in separate Point3D objects, so stepping many Movables in one pass
+ * walks memory in order.
+ * The arrays are split into fixed size chunks that are never reallocated, so a
+ * slot stays valid while other threads allocate new slots.
+ * @author Steven Muschler
+ */
+public class MovementStore
+{
+    private static final int CHUNK_BITS = 10;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    private volatile Chunk[] chunks = new Chunk[0];
+    private int nextSlot;
+    private int[] freeSlots = new int[16];
+    private int numFree;
+
+    /**
+     * When steppedInBulk is set, stepAll moves every slot once per tick and the
+     * Impls over this store leave their move() to it.  steps counts the calls to
+     * stepAll, so an Impl can tell when its cached location went stale.  Both
+     * are only changed between ticks.
+     */
+    private volatile boolean steppedInBulk;
+    private int steps;
+
+    /**
+     * Reserves a slot for a Movable.
+     * @return The new slot.
+     */
+    public synchronized int allocate()
+    {
+        if (numFree > 0)
+        {
+            int slot = freeSlots[--numFree];
+            chunk(slot).live[slot & CHUNK_MASK] = true;
+            return slot;
+        }
+
+        int slot = nextSlot++;
+        int c = slot >>> CHUNK_BITS;
+        if (c == chunks.length)
+        {
+            Chunk[] grown = new Chunk[c + 1];
+            System.arraycopy(chunks, 0, grown, 0, c);
+            grown[c] = new Chunk();
+            chunks = grown;
+        }
+        chunk(slot).live[slot & CHUNK_MASK] = true;
+        return slot;
+    }
+
+    /**
+     * Returns a slot so it can be handed out again.
+     * @param slot The slot to return.
+     */
+    public synchronized void release(int slot)
+    {
+        if (numFree == freeSlots.length)
+        {
+            int[] grown = new int[numFree * 2];
+            System.arraycopy(freeSlots, 0, grown, 0, numFree);
+            freeSlots = grown;
+        }
+        freeSlots[numFree++] = slot;
+        chunk(slot).live[slot & CHUNK_MASK] = false;
+    }
+
+    /**
+     * Leaves a slot where it is.  stepAll skips it until it is released and
+     * handed out again.
+     * @param slot The slot to stop.
+     */
+    public synchronized void stop(int slot)
+    {
+        chunk(slot).live[slot & CHUNK_MASK] = false;
+    }
+
+    /**
+     * @return The number of slots in use.
+     */
+    public synchronized int size()
+    {
+        return nextSlot - numFree;
+    }
+
+    public double getX(int slot)
+    {
+        return chunk(slot).x[slot & CHUNK_MASK];
+    }
+
+    public double getY(int slot)
+    {
+        return chunk(slot).y[slot & CHUNK_MASK];
+    }
+
+    public double getZ(int slot)
+    {
+        return chunk(slot).z[slot & CHUNK_MASK];
+    }
+
+    public double getDestX(int slot)
+    {
+        return chunk(slot).destX[slot & CHUNK_MASK];
+    }
+
+    public double getDestY(int slot)
+    {
+        return chunk(slot).destY[slot & CHUNK_MASK];
+    }
+
+    public double getDestZ(int slot)
+    {
+        return chunk(slot).destZ[slot & CHUNK_MASK];
+    }
+
+    public double getSpeed(int slot)
+    {
+        return chunk(slot).speed[slot & CHUNK_MASK];
+    }
+
+    public double getAngle(int slot)
+    {
+        return chunk(slot).angle[slot & CHUNK_MASK];
+    }
+
+    public void setLocation(int slot, double x, double y, double z)
+    {
+        Chunk c = chunk(slot);
+        int i = slot & CHUNK_MASK;
+        c.x[i] = x;
+        c.y[i] = y;
+        c.z[i] = z;
+    }
+
+    public void setDestination(int slot, double x, double y, double z)
+    {
+        Chunk c = chunk(slot);
+        int i = slot & CHUNK_MASK;
+        c.destX[i] = x;
+        c.destY[i] = y;
+        c.destZ[i] = z;
+    }
+
+    public void setSpeed(int slot, double speed)
+    {
+        chunk(slot).speed[slot & CHUNK_MASK] = speed;
+    }
+
+    public void setAngle(int slot, double angle)
+    {
+        chunk(slot).angle[slot & CHUNK_MASK] = angle;
+    }
+
+    /**
+     * @param slot The slot to measure.
+     * @return The distance from the slot's location to its destination.
+     */
+    public double distanceToGo(int slot)
+    {
+        Chunk c = chunk(slot);
+        int i = slot & CHUNK_MASK;
+        double xD = c.destX[i] - c.x[i];
+        double yD = c.destY[i] - c.y[i];
+        double zD = c.destZ[i] - c.z[i];
+        return Math.sqrt(xD * xD + yD * yD + zD * zD);
+    }
+
+    /**
+     * Moves a slot towards its destination the same way MovableSpaceCraftImpl and
+     * MovableWeaponImpl move: straight at it, snapping to it when the step would overshoot.
+     * @param slot The slot to move.
+     * @param distanceTraveled How far the slot travels.
+     * @return True if the slot reached its destination on this step, otherwise false.
+     */
+    public boolean step(int slot, double distanceTraveled)
+    {
+        Chunk c = chunk(slot);
+        int i = slot & CHUNK_MASK;
+        double xD = c.destX[i] - c.x[i];
+        double yD = c.destY[i] - c.y[i];
+        double zD = c.destZ[i] - c.z[i];
+        double distanceToGo = Math.sqrt(xD * xD + yD * yD + zD * zD);
+
+        if (distanceToGo <= 0)
+            return false;
+
+        if (distanceTraveled >= distanceToGo)
+        {
+            c.x[i] = c.destX[i];
+            c.y[i] = c.destY[i];
+            c.z[i] = c.destZ[i];
+            return true;
+        }
+
+        double delta = distanceTraveled / distanceToGo;
+        c.x[i] += xD * delta;
+        c.y[i] += yD * delta;
+        c.z[i] += zD * delta;
+        c.angle[i] = Math.atan2(yD * delta, xD * delta) + (Math.PI / 2.0);
+        return false;
+    }
+
+    /**
+     * @param bulk True if the owner of the store steps it with stepAll instead of each Impl stepping itself.
+     */
+    public void setSteppedInBulk(boolean bulk)
+    {
+        steppedInBulk = bulk;
+    }
+
+    public boolean isSteppedInBulk()
+    {
+        return steppedInBulk;
+    }
+
+    /**
+     * @return The number of calls to stepAll so far.
+     */
+    public int getSteps()
+    {
+        return steps;
+    }
+
+    /**
+     * Moves every slot in use that has not been stopped towards its destination
+     * as step does, in one pass over the arrays.  Must not run while slots are being allocated or stepped.
+     * @param timeInterval How long every slot travels at its own speed.
+     */
+    public synchronized void stepAll(int timeInterval)
+    {
+        Chunk[] cs = chunks;
+        for (int k = 0; k < cs.length; k++)
+        {
+            Chunk c = cs[k];
+            int n = Math.min(CHUNK_SIZE, nextSlot - (k << CHUNK_BITS));
+            for (int i = 0; i < n; i++)
+            {
+                if (!c.live[i])
+                    continue;
+                double xD = c.destX[i] - c.x[i];
+                double yD = c.destY[i] - c.y[i];
+                double zD = c.destZ[i] - c.z[i];
+                double distanceToGo = Math.sqrt(xD * xD + yD * yD + zD * zD);
+                double distanceTraveled = c.speed[i] * timeInterval;
+                if (distanceToGo <= 0)
+                    continue;
+
+                if (distanceTraveled >= distanceToGo)
+                {
+                    c.x[i] = c.destX[i];
+                    c.y[i] = c.destY[i];
+                    c.z[i] = c.destZ[i];
+                    continue;
+                }
+
+                double delta = distanceTraveled / distanceToGo;
+                c.x[i] += xD * delta;
+                c.y[i] += yD * delta;
+                c.z[i] += zD * delta;
+                c.angle[i] = Math.atan2(yD * delta, xD * delta) + (Math.PI / 2.0);
+            }
+        }
+        steps++;
+    }
+
+    private Chunk chunk(int slot)
+    {
+        return chunks[slot >>> CHUNK_BITS];
+    }
+
+    /**
+     * One block of CHUNK_SIZE slots.
+     */
+    private static class Chunk
+    {
+        private final double[] x = new double[CHUNK_SIZE];
+        private final double[] y = new double[CHUNK_SIZE];
+        private final double[] z = new double[CHUNK_SIZE];
+        private final double[] destX = new double[CHUNK_SIZE];
+        private final double[] destY = new double[CHUNK_SIZE];
+        private final double[] destZ = new double[CHUNK_SIZE];
+        private final double[] speed = new double[CHUNK_SIZE];
+        private final double[] angle = new double[CHUNK_SIZE];
+        private final boolean[] live = new boolean[CHUNK_SIZE];
+    }
+}
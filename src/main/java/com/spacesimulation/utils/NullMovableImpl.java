@@ -61,11 +61,11 @@ public class NullMovableImpl implements Movable
     }
 
     /**
-     * @return The angle that the Impl is currently storing.  Note: this value is random.
+     * @return The angle that the Impl is currently storing.
      */
     public double getAngle() 
     {
-        return Math.toRadians(Math.random()*360.0);
+        return angle;
     }
 
     /**
@@ -118,4 +118,26 @@ public class NullMovableImpl implements Movable
      */
     public void detonate() {
     }
+
+    /**
+     * This Impl holds no shared storage, so this method does nothing.
+     */
+    public void release() {
+    }
+
+    /**
+     * Restarts the Impl at loc.  dest is ignored, as location == destination.
+     * @param loc The location that the Impl stores.
+     * @param dest Ignored.
+     * @param spd The speed that the Impl stores.
+     * @param ang The angle that the Impl stores.
+     * @throws InvalidDoubleException thrown if spd < 0.
+     */
+    public void reinitialize(Point3D loc, Point3D dest, double spd, double ang) throws InvalidDoubleException
+    {
+        setSpeed(spd);
+        setAngle(ang);
+        location = loc;
+        destination = location;
+    }
 }
@@ -0,0 +1,63 @@
+package com.spacesimulation.utils;
+
+/**
+ * A bounded stack of spare objects that can be reinitialised and used again
+ * instead of allocating new ones.  Objects beyond the capacity are dropped and
+ * left to the garbage collector.  Thread safe.
+ * @author Steven Muschler
+ */
+public class ObjectPool<T>
+{
+    private final Object[] spares;
+    private int numSpares;
+
+    /**
+     * ObjectPool's Constructor.
+     * @param capacity The most spare objects the pool keeps.
+     */
+    public ObjectPool(int capacity)
+    {
+        spares = new Object[capacity];
+    }
+
+    /**
+     * @return A spare object, or null if there is none.
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized T acquire()
+    {
+        if (numSpares == 0)
+            return null;
+        T obj = (T) spares[--numSpares];
+        spares[numSpares] = null;
+        return obj;
+    }
+
+    /**
+     * Keeps an object that is no longer used so acquire() can hand it out again.
+     * @param obj The object.  It must not be used again until it is acquired.
+     */
+    public synchronized void recycle(T obj)
+    {
+        if (numSpares < spares.length)
+            spares[numSpares++] = obj;
+    }
+
+    /**
+     * @return The number of spare objects.
+     */
+    public synchronized int size()
+    {
+        return numSpares;
+    }
+
+    /**
+     * Drops every spare object.
+     */
+    public synchronized void clear()
+    {
+        for (int i = 0; i < numSpares; i++)
+            spares[i] = null;
+        numSpares = 0;
+    }
+}
@@ -0,0 +1,218 @@
+package com.spacesimulation.utils;
+
+import com.spacesimulation.domain.EntityManager;
+import com.spacesimulation.exceptions.InvalidDoubleException;
+import com.spacesimulation.exceptions.InvalidIntegerException;
+
+/**
+ * Impl that implements the Movable interface as a view over a slot of a MovementStore.
+ * Behaves like MovableSpaceCraftImpl.
+ * @author Steven Muschler
+ */
+
+public class PackedSpaceCraftImpl implements Movable
+{
+    private final MovementStore store;
+    private int slot;
+
+    /**
+     * Once released the slot may belong to another Movable, so the last values are kept here instead.
+     */
+    private boolean released;
+    private double releasedSpeed;
+    private double releasedAngle;
+
+    /**
+     * location caches the Point3D handed out by getLocation() until the slot moves.
+     * locationSteps is the store's step count when it was taken, since stepAll
+     * moves the slot without the Impl knowing.
+     */
+    private Point3D location;
+    private int locationSteps;
+    private Point3D destination;
+
+    /**
+     * Impl's Constructor
+     * @param store The MovementStore that holds the Impl's state.
+     * @param spd The speed of the object that owns the reference to the Impl.
+     * @param ang The angle of the object that owns the reference to the Impl.
+     * @throws InvalidDoubleException thrown if spd < 0.
+     */
+    public PackedSpaceCraftImpl(MovementStore store, double spd, double ang) throws InvalidDoubleException
+    {
+        if (spd < 0)
+            throw new InvalidDoubleException("Negative Speed Encountered: " + spd);
+        this.store = store;
+        slot = store.allocate();
+        store.setSpeed(slot, spd);
+        store.setAngle(slot, ang);
+        setLocation(EntityManager.getInstance().createRandomPoint());
+        setDestination();
+    }
+
+    /**
+     * Impl's Movement algorithm.  The object travels towards its destination.
+     * @param timeInterval The amount of time for the object to travel.
+     * @throws InvalidIntegerException thrown if timeInterval < 0.
+     */
+    public void move(int timeInterval) throws InvalidIntegerException
+    {
+        if (released || store.isSteppedInBulk())
+            return;
+        store.step(slot, store.getSpeed(slot) * timeInterval);
+        location = null;
+    }
+
+    /**
+     * @return The stored location.
+     */
+    public Point3D getLocation()
+    {
+        if (!released && (location == null || locationSteps != store.getSteps()))
+        {
+            location = new Point3D(store.getX(slot), store.getY(slot), store.getZ(slot));
+            locationSteps = store.getSteps();
+        }
+        return location;
+    }
+
+    /**
+     * @return The stored destination.
+     */
+    public Point3D getDestination()
+    {
+        if (destination == null)
+            destination = new Point3D(store.getDestX(slot), store.getDestY(slot), store.getDestZ(slot));
+        return destination;
+    }
+
+    /**
+     * @return The stored speed.
+     */
+    public double getSpeed()
+    {
+        if (released)
+            return releasedSpeed;
+        return store.getSpeed(slot);
+    }
+
+    /**
+     * @return The stored angle.
+     */
+    public double getAngle()
+    {
+        if (released)
+            return releasedAngle;
+        return store.getAngle(slot);
+    }
+
+    /**
+     * Sets the destination to a random point.
+     */
+    public void setDestination()
+    {
+        if (released)
+            return;
+        EntityManager em = EntityManager.getInstance();
+        SimulationRandom random = em.random();
+        store.setDestination(slot, random.nextDouble() * em.getXSize(),
+                                   random.nextDouble() * em.getYSize(),
+                                   random.nextDouble() * em.getZSize());
+        destination = null;
+    }
+
+    /**
+     * Sets location to the point specified.
+     * @param p The new location.
+     */
+    public void setLocation(Point3D p)
+    {
+        if (released)
+            return;
+        store.setLocation(slot, p.getX(), p.getY(), p.getZ());
+        location = p;
+        locationSteps = store.getSteps();
+    }
+
+    /**
+     * Sets location to the point specified, as MovableSpaceCraftImpl does.
+     * @param p The new destination.
+     */
+    public void setDestination(Point3D p)
+    {
+        setLocation(p);
+    }
+
+    /**
+     * @return True if destination == location, otherwise false
+     */
+    public boolean atDestination()
+    {
+        if (released)
+            return location.distance(destination) == 0.0;
+        return store.distanceToGo(slot) == 0.0;
+    }
+
+    /**
+     * Sets the angle.
+     * @param d The new angle.
+     */
+    public void setAngle(double d)
+    {
+        if (released)
+            releasedAngle = d;
+        else
+            store.setAngle(slot, d);
+    }
+
+    /**
+     * Stops the slot, since a destroyed SpaceCraft stays where it is until it is removed.
+     */
+    public void detonate()
+    {
+        if (!released)
+            store.stop(slot);
+    }
+
+    /**
+     * Keeps a snapshot of the final location and hands the slot back to the MovementStore.
+     */
+    public void release()
+    {
+        if (!released)
+        {
+            getLocation();
+            getDestination();
+            releasedSpeed = store.getSpeed(slot);
+            releasedAngle = store.getAngle(slot);
+            released = true;
+            store.release(slot);
+        }
+    }
+
+    /**
+     * Restarts the Impl at loc, heading for dest, in a new slot if it has been released.
+     * @param loc The new location.
+     * @param dest The new destination.
+     * @param spd The new speed.
+     * @param ang The new angle.
+     * @throws InvalidDoubleException thrown if spd < 0.
+     */
+    public void reinitialize(Point3D loc, Point3D dest, double spd, double ang) throws InvalidDoubleException
+    {
+        if (spd < 0)
+            throw new InvalidDoubleException("Negative Speed Encountered: " + spd);
+        if (released)
+        {
+            slot = store.allocate();
+            released = false;
+        }
+        store.setSpeed(slot, spd);
+        store.setAngle(slot, ang);
+        store.setLocation(slot, loc.getX(), loc.getY(), loc.getZ());
+        store.setDestination(slot, dest.getX(), dest.getY(), dest.getZ());
+        location = loc;
+        locationSteps = store.getSteps();
+        destination = dest;
+    }
+}
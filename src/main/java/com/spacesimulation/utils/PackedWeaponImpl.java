@@ -0,0 +1,244 @@
+package com.spacesimulation.utils;
+
+import com.spacesimulation.domain.DebrisCloud;
+import com.spacesimulation.domain.EntityManager;
+import com.spacesimulation.exceptions.ColorNotFoundException;
+import com.spacesimulation.exceptions.InvalidDoubleException;
+import com.spacesimulation.exceptions.InvalidIntegerException;
+import com.spacesimulation.exceptions.NullObjectException;
+import com.spacesimulation.factories.DebrisCloudFactory;
+
+/**
+ * Impl that implements the Movable interface as a view over a slot of a MovementStore.
+ * Behaves like MovableWeaponImpl: when it reaches its destination it detonates.
+ * @author Steven Muschler
+ */
+
+public class PackedWeaponImpl implements Movable
+{
+    private final MovementStore store;
+    private int slot;
+
+    /**
+     * Once released the slot may belong to another Movable, so the last values are kept here instead.
+     */
+    private boolean released;
+    private double releasedSpeed;
+    private double releasedAngle;
+
+    /**
+     * location caches the Point3D handed out by getLocation() until the slot moves.
+     */
+    private Point3D location;
+    private Point3D destination;
+
+    private boolean atDestination = false;
+
+    /**
+     * Impl's Constructor
+     * @param store The MovementStore that holds the Impl's state.
+     * @param loc The location the Impl is storing.
+     * @param dest The destination the Impl is storing.
+     * @param spd The speed the Impl is storing.
+     * @param ang The angle the Impl is storing.
+     * @throws InvalidDoubleException thrown if spd < 0.
+     */
+    public PackedWeaponImpl(MovementStore store, Point3D loc, Point3D dest, double spd, double ang) throws InvalidDoubleException
+    {
+        if (spd < 0)
+            throw new InvalidDoubleException("Negative Speed Encountered: " + spd);
+        this.store = store;
+        slot = store.allocate();
+        store.setSpeed(slot, spd);
+        store.setAngle(slot, ang);
+        setLocation(loc);
+        setDestination(dest);
+    }
+
+    /**
+     * Movement algorithm for this Impl.  When the Impl reaches its destination it performs its detonate behavior.
+     * @param timeInterval The amount of time for the Impl to move.
+     * @throws InvalidIntegerException thrown if timeInterval < 0.
+     */
+    public void move(int timeInterval) throws InvalidIntegerException
+    {
+        if (released)
+            return;
+        boolean arrived = store.step(slot, store.getSpeed(slot) * timeInterval);
+        location = null;
+        if (arrived)
+        {
+            atDestination = true;
+            detonate();
+        }
+    }
+
+    /**
+     * @return The stored location.
+     */
+    public Point3D getLocation()
+    {
+        if (location == null)
+            location = new Point3D(store.getX(slot), store.getY(slot), store.getZ(slot));
+        return location;
+    }
+
+    /**
+     * @return The stored destination.
+     */
+    public Point3D getDestination()
+    {
+        if (destination == null)
+            destination = new Point3D(store.getDestX(slot), store.getDestY(slot), store.getDestZ(slot));
+        return destination;
+    }
+
+    /**
+     * @return The stored speed.
+     */
+    public double getSpeed()
+    {
+        if (released)
+            return releasedSpeed;
+        return store.getSpeed(slot);
+    }
+
+    /**
+     * @return The stored angle.
+     */
+    public double getAngle()
+    {
+        if (released)
+            return releasedAngle;
+        return store.getAngle(slot);
+    }
+
+    /**
+     * Sets the destination to a random point.
+     */
+    public void setDestination()
+    {
+        if (released)
+            return;
+        EntityManager em = EntityManager.getInstance();
+        SimulationRandom random = em.random();
+        store.setDestination(slot, random.nextDouble() * em.getXSize(),
+                                   random.nextDouble() * em.getYSize(),
+                                   random.nextDouble() * em.getZSize());
+        destination = null;
+    }
+
+    /**
+     * Sets location to the point specified.
+     * @param p The new location.
+     */
+    public void setLocation(Point3D p)
+    {
+        if (released)
+            return;
+        store.setLocation(slot, p.getX(), p.getY(), p.getZ());
+        location = p;
+    }
+
+    /**
+     * Sets destination to the point specified.
+     * @param p The new destination.
+     */
+    public void setDestination(Point3D p)
+    {
+        if (released)
+            return;
+        store.setDestination(slot, p.getX(), p.getY(), p.getZ());
+        destination = p;
+    }
+
+    /**
+     * @return True once the Impl has reached its destination, otherwise false.
+     */
+    public boolean atDestination()
+    {
+        return atDestination;
+    }
+
+    /**
+     * Sets the angle.
+     * @param d The new angle.
+     */
+    public void setAngle(double d)
+    {
+        if (released)
+            releasedAngle = d;
+        else
+            store.setAngle(slot, d);
+    }
+
+    /**
+     * The Impl's detonate behavior.  The Impl creates a small DebrisCloud at the Impl's current location.
+     */
+    public void detonate()
+    {
+        try 
+        {
+            DebrisCloud dc = DebrisCloudFactory.build(0.25, 40, "YELLOW", getLocation(), false);
+            EntityManager.getInstance().addEntity(dc);
+        } 
+        catch (InvalidDoubleException ex) 
+        {
+            System.out.println(ex);
+        } 
+        catch (InvalidIntegerException ex) 
+        {
+            System.out.println(ex);
+        } 
+        catch (ColorNotFoundException ex) 
+        {
+            System.out.println(ex);
+        } 
+        catch (NullObjectException ex) 
+        {
+            System.out.println(ex);
+        }
+    }
+
+    /**
+     * Keeps a snapshot of the final location and hands the slot back to the MovementStore.
+     */
+    public void release()
+    {
+        if (!released)
+        {
+            getLocation();
+            getDestination();
+            releasedSpeed = store.getSpeed(slot);
+            releasedAngle = store.getAngle(slot);
+            released = true;
+            store.release(slot);
+        }
+    }
+
+    /**
+     * Restarts the Impl at loc, heading for dest, in a new slot if it has been released.
+     * @param loc The new location.
+     * @param dest The new destination.
+     * @param spd The new speed.
+     * @param ang The new angle.
+     * @throws InvalidDoubleException thrown if spd < 0.
+     */
+    public void reinitialize(Point3D loc, Point3D dest, double spd, double ang) throws InvalidDoubleException
+    {
+        if (spd < 0)
+            throw new InvalidDoubleException("Negative Speed Encountered: " + spd);
+        if (released)
+        {
+            slot = store.allocate();
+            released = false;
+        }
+        store.setSpeed(slot, spd);
+        store.setAngle(slot, ang);
+        store.setLocation(slot, loc.getX(), loc.getY(), loc.getZ());
+        store.setDestination(slot, dest.getX(), dest.getY(), dest.getZ());
+        location = loc;
+        destination = dest;
+        atDestination = false;
+    }
+}
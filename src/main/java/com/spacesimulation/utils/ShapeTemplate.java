@@ -0,0 +1,195 @@
+package com.spacesimulation.utils;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * The immutable outline of a kind of SpaceEntity, centred on its own origin.
+ * One ShapeTemplate is shared by every SpaceEntity of a type, so it is never
+ * changed; transformed copies are made from it when something is drawn.
+ * The scaled and rotated point offsets are cached per quantised angle and
+ * scale, so drawing an outline is a translate.
+ * @author Steven Muschler
+ */
+public final class ShapeTemplate
+{
+    private static final int ANGLE_STEPS = 256;
+    private static final double ANGLE_QUANTUM = 2.0 * Math.PI / ANGLE_STEPS;
+    private static final int SCALE_STEPS = 129;
+    private static final double SCALE_QUANTUM = 1.0 / 32.0;
+
+    private final int[] xpoints;
+    private final int[] ypoints;
+    private final double radius;
+
+    /**
+     * offsets holds, for each quantised angle and scale, the x offsets followed by the y offsets.
+     * It is only allocated once the outline is first drawn.
+     */
+    private volatile AtomicReferenceArray<int[]> offsets;
+
+    /**
+     * ShapeTemplate's Constructor.  The points are copied.
+     * @param polygon The outline.
+     */
+    public ShapeTemplate(PolygonPlus polygon)
+    {
+        xpoints = new int[polygon.npoints];
+        ypoints = new int[polygon.npoints];
+        System.arraycopy(polygon.xpoints, 0, xpoints, 0, polygon.npoints);
+        System.arraycopy(polygon.ypoints, 0, ypoints, 0, polygon.npoints);
+        radius = computeRadius(xpoints, ypoints);
+    }
+
+    private ShapeTemplate(int[] x, int[] y)
+    {
+        xpoints = x;
+        ypoints = y;
+        radius = computeRadius(x, y);
+    }
+
+    /**
+     * Every rotated point is the rotated centroid plus the point's rotated offset
+     * from it, so no rotation of the outline reaches further than this.
+     */
+    private static double computeRadius(int[] x, int[] y)
+    {
+        int n = x.length;
+        if (n == 0)
+            return 0.0;
+        double xCenter = 0.0;
+        double yCenter = 0.0;
+        for (int i = 0; i < n; i++)
+        {
+            xCenter += x[i];
+            yCenter += y[i];
+        }
+        xCenter /= n;
+        yCenter /= n;
+        double furthest = 0.0;
+        for (int i = 0; i < n; i++)
+            furthest = Math.max(furthest, Math.hypot(x[i] - xCenter, y[i] - yCenter));
+        return furthest + Math.hypot(xCenter, yCenter);
+    }
+
+    /**
+     * @return The number of points in the outline.
+     */
+    public int size()
+    {
+        return xpoints.length;
+    }
+
+    /**
+     * @return The furthest any point of the outline can be from the origin, at any angle, at scale 1.
+     */
+    public double getRadius()
+    {
+        return radius;
+    }
+
+    public int getX(int i)
+    {
+        return xpoints[i];
+    }
+
+    public int getY(int i)
+    {
+        return ypoints[i];
+    }
+
+    /**
+     * @param factor The scale factor.
+     * @return A new ShapeTemplate scaled by factor, truncated to whole units as PolygonPlus.scale does.
+     */
+    public ShapeTemplate scale(double factor)
+    {
+        int[] x = new int[xpoints.length];
+        int[] y = new int[ypoints.length];
+        for (int i = 0; i < x.length; i++)
+        {
+            x[i] = (int) (xpoints[i] * factor);
+            y[i] = (int) (ypoints[i] * factor);
+        }
+        return new ShapeTemplate(x, y);
+    }
+
+    /**
+     * Returns the outline scaled and then rotated about its centre, as
+     * PolygonPlus.scale and rotate would do it, with the angle rounded to
+     * 1/256 of a turn and the scale to 1/32.  The result is cached and shared.
+     * @param angle The angle in radians.
+     * @param scale The scale factor.  Scales above 4 are drawn at 4.
+     * @return The x offsets of the points followed by their y offsets.  Must not be changed.
+     */
+    public int[] getOffsets(double angle, double scale)
+    {
+        AtomicReferenceArray<int[]> cache = offsets;
+        if (cache == null)
+        {
+            synchronized (this)
+            {
+                cache = offsets;
+                if (cache == null)
+                {
+                    cache = new AtomicReferenceArray<int[]>(ANGLE_STEPS * SCALE_STEPS);
+                    offsets = cache;
+                }
+            }
+        }
+
+        int a = (int) Math.round(angle / ANGLE_QUANTUM) & (ANGLE_STEPS - 1);
+        int s = (int) Math.round(scale / SCALE_QUANTUM);
+        if (s < 0)
+            s = 0;
+        else if (s >= SCALE_STEPS)
+            s = SCALE_STEPS - 1;
+
+        int key = a * SCALE_STEPS + s;
+        int[] result = cache.get(key);
+        if (result == null)
+        {
+            result = transform(a * ANGLE_QUANTUM, s * SCALE_QUANTUM);
+            cache.set(key, result);
+        }
+        return result;
+    }
+
+    private int[] transform(double angle, double scale)
+    {
+        int n = xpoints.length;
+        int[] result = new int[2 * n];
+        int xCenter = 0;
+        int yCenter = 0;
+        for (int i = 0; i < n; i++)
+        {
+            result[i] = (int) (xpoints[i] * scale);
+            result[n + i] = (int) (ypoints[i] * scale);
+            xCenter += result[i];
+            yCenter += result[n + i];
+        }
+        if (n > 0)
+        {
+            xCenter /= n;
+            yCenter /= n;
+        }
+
+        double cos = Math.cos(angle);
+        double sin = Math.sin(angle);
+        for (int i = 0; i < n; i++)
+        {
+            double dx = result[i] - xCenter;
+            double dy = result[n + i] - yCenter;
+            result[i] = (int) Math.round(xCenter + dx * cos - dy * sin);
+            result[n + i] = (int) Math.round(yCenter + dx * sin + dy * cos);
+        }
+        return result;
+    }
+
+    /**
+     * @return A new PolygonPlus with the outline's points, free to be transformed.
+     */
+    public PolygonPlus toPolygon()
+    {
+        return new PolygonPlus(xpoints, ypoints, xpoints.length);
+    }
+}
@@ -0,0 +1,72 @@
+package com.spacesimulation.utils;
+
+/**
+ * A small, fast random number stream for the simulation (SplitMix64).
+ * A stream is not thread safe: each stream is meant to be used by one thread
+ * at a time, and independent streams are split off or derived from a seed
+ * instead of sharing one generator between threads.  The same seed always
+ * gives the same sequence.
+ * @author Steven Muschler
+ */
+public class SimulationRandom
+{
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+    private static final double DOUBLE_UNIT = 1.0 / (1L << 53);
+
+    private long state;
+
+    /**
+     * SimulationRandom's Constructor.
+     * @param seed The seed of the stream.
+     */
+    public SimulationRandom(long seed)
+    {
+        state = seed;
+    }
+
+    /**
+     * Restarts the stream from a new seed.
+     * @param seed The seed of the stream.
+     */
+    public void setSeed(long seed)
+    {
+        state = seed;
+    }
+
+    /**
+     * @return The next 64 random bits.
+     */
+    public long nextLong()
+    {
+        state += GOLDEN_GAMMA;
+        return mix(state);
+    }
+
+    /**
+     * @return A random double in [0, 1).
+     */
+    public double nextDouble()
+    {
+        return (nextLong() >>> 11) * DOUBLE_UNIT;
+    }
+
+    /**
+     * @return A new stream seeded from this one.  The two streams can then be used on different threads.
+     */
+    public SimulationRandom split()
+    {
+        return new SimulationRandom(nextLong());
+    }
+
+    /**
+     * Scrambles a value into a well distributed seed.
+     * @param z The value to scramble.
+     * @return The scrambled value.
+     */
+    public static long mix(long z)
+    {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,77 @@
+package com.spacesimulation.utils;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hands the newest of a stream of values from a producer thread to a consumer
+ * thread without locking.  The producer fills the back buffer while the consumer
+ * reads the front one; a finished back buffer is swapped with the middle one,
+ * and the consumer swaps its front buffer with the middle one whenever a newer
+ * value is waiting there.  Neither thread ever waits for the other, and the
+ * consumer always gets the newest complete value.  Only one thread at a time may
+ * produce and only one thread at a time may consume.
+ * @author Steven Muschler
+ */
+public class TripleBuffer<T>
+{
+    private static final int INDEX_MASK = 3;
+
+    /**
+     * Set in middle when the middle buffer holds a value the consumer has not taken yet.
+     */
+    private static final int FRESH = 4;
+
+    private final Object[] buffers;
+    private final AtomicInteger middle = new AtomicInteger(1);
+    private int back = 0;
+    private int front = 2;
+
+    /**
+     * TripleBuffer's Constructor.  The three buffers must be distinct objects.
+     * @param first The first buffer.  It starts as the back buffer.
+     * @param second The second buffer.  It starts as the middle buffer.
+     * @param third The third buffer.  It starts as the front buffer.
+     */
+    public TripleBuffer(T first, T second, T third)
+    {
+        buffers = new Object[] { first, second, third };
+    }
+
+    /**
+     * @return The buffer the producer fills next.  It is the producer's until publish().
+     */
+    @SuppressWarnings("unchecked")
+    public T getBack()
+    {
+        return (T) buffers[back];
+    }
+
+    /**
+     * Makes the back buffer the newest value and gives the producer another buffer to fill.
+     */
+    public void publish()
+    {
+        back = middle.getAndSet(back | FRESH) & INDEX_MASK;
+    }
+
+    /**
+     * Takes the newest published value, if there is one the consumer has not taken yet.
+     * @return True if the front buffer changed, otherwise false.
+     */
+    public boolean swapFront()
+    {
+        if ((middle.get() & FRESH) == 0)
+            return false;
+        front = middle.getAndSet(front) & INDEX_MASK;
+        return true;
+    }
+
+    /**
+     * @return The buffer the consumer reads.  It is the consumer's until the next swapFront().
+     */
+    @SuppressWarnings("unchecked")
+    public T getFront()
+    {
+        return (T) buffers[front];
+    }
+}